@@ -0,0 +1,57 @@
+package info.psuj.toolbox.benchmark;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost and allocation of {@link Result} factories and {@link Result#map}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ResultBenchmark {
+
+    private final DomainEvent first = new BenchmarkEvent(1);
+    private final DomainEvent second = new BenchmarkEvent(2);
+    private final Result<Integer> withEntity = Result.success(42, first, second);
+    private final Result<Integer> failed = Result.failure("error");
+
+    @Benchmark
+    public Result<Void> successWithoutPayload() {
+        return Result.success();
+    }
+
+    @Benchmark
+    public Result<Integer> successWithEntity() {
+        return Result.success(42);
+    }
+
+    @Benchmark
+    public Result<Integer> successWithEntityAndEvents() {
+        return Result.success(42, first, second);
+    }
+
+    @Benchmark
+    public Result<Integer> failure() {
+        return Result.failure("error");
+    }
+
+    @Benchmark
+    public Result<String> mapSuccess() {
+        return withEntity.map(String::valueOf);
+    }
+
+    @Benchmark
+    public Result<String> mapFailure() {
+        return failed.map(String::valueOf);
+    }
+
+    record BenchmarkEvent(int value) implements DomainEvent {
+    }
+}
@@ -0,0 +1,87 @@
+package info.psuj.toolbox.benchmark;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.ErrorAggregation;
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.shared.Results;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Results#combine(java.util.Collection)} for batches of growing size.
+ *
+ * <p>Besides all-success batches, it covers a batch failing only on its last element, which
+ * collects everything before discarding it, and a batch where nine in ten elements fail with
+ * a handful of distinct messages, which exercises error aggregation.</p>
+ *
+ * <p>The largest batch needs several gigabytes of heap, hence the raised {@code -Xmx}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class ResultsCombineBenchmark {
+
+    private static final int SUCCESS_INTERVAL = 10;
+    private static final int DISTINCT_ERRORS = 100;
+    private static final ErrorAggregation SUMMARIZED = ErrorAggregation.summarized(20, 5);
+
+    @Param({"10", "10000", "10000000"})
+    private int size;
+
+    private List<Result<Integer>> successes;
+    private List<Result<Integer>> trailingFailure;
+    private List<Result<Integer>> mostlyFailing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Result<Integer>> failures = new ArrayList<>(DISTINCT_ERRORS);
+        for (int i = 0; i < DISTINCT_ERRORS; i++) {
+            failures.add(Result.failure("error " + i));
+        }
+        successes = new ArrayList<>(size);
+        trailingFailure = new ArrayList<>(size);
+        mostlyFailing = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Result<Integer> success = Result.success(i, new BenchmarkEvent(i));
+            successes.add(success);
+            trailingFailure.add(i == size - 1 ? failures.get(0) : success);
+            mostlyFailing.add(i % SUCCESS_INTERVAL == 0 ? success : failures.get(i % DISTINCT_ERRORS));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        successes = null;
+        trailingFailure = null;
+        mostlyFailing = null;
+    }
+
+    @Benchmark
+    public Result<List<Integer>> combineSuccesses() {
+        return Results.combine(successes);
+    }
+
+    @Benchmark
+    public Result<List<Integer>> combineWithTrailingFailure() {
+        return Results.combine(trailingFailure);
+    }
+
+    @Benchmark
+    public Result<List<Integer>> combineMostlyFailing() {
+        return Results.combine(mostlyFailing);
+    }
+
+    @Benchmark
+    public Result<List<Integer>> combineMostlyFailingSummarized() {
+        return Results.combine(mostlyFailing, SUMMARIZED);
+    }
+
+    record BenchmarkEvent(int value) implements DomainEvent {
+    }
+}
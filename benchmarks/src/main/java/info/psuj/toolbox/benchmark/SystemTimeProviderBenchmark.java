@@ -0,0 +1,37 @@
+package info.psuj.toolbox.benchmark;
+
+import info.psuj.toolbox.time.SystemTimeProvider;
+import info.psuj.toolbox.time.TimeProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SystemTimeProvider#now()} against reading the underlying clock directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SystemTimeProviderBenchmark {
+
+    private final TimeProvider provider = new SystemTimeProvider();
+
+    @Benchmark
+    public Instant now() {
+        return provider.now();
+    }
+
+    @Benchmark
+    public long clockMillis() {
+        return provider.clock().millis();
+    }
+
+    @Benchmark
+    public Instant instantNowBaseline() {
+        return Instant.now();
+    }
+}
@@ -0,0 +1,34 @@
+package info.psuj.toolbox.benchmark;
+
+import info.psuj.toolbox.uuid.SystemUuidProvider;
+import info.psuj.toolbox.uuid.UuidProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SystemUuidProvider#randomUuid()} on a single thread and under contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SystemUuidProviderBenchmark {
+
+    private final UuidProvider provider = new SystemUuidProvider();
+
+    @Benchmark
+    @Threads(1)
+    public UUID singleThread() {
+        return provider.randomUuid();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID allThreads() {
+        return provider.randomUuid();
+    }
+}
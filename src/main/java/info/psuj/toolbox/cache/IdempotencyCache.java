@@ -0,0 +1,329 @@
+package info.psuj.toolbox.cache;
+
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.TimeProvider;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, concurrent cache of {@link Result}s keyed by request or event IDs.
+ *
+ * <p>Used to answer retried messages with the result of their first processing. Entries expire
+ * after a fixed time-to-live measured with the given {@link TimeProvider}. When the cache is full,
+ * a CLOCK hand (an approximation of LRU) drops the first entry it meets that is either expired
+ * or was not read since the hand last passed it.</p>
+ *
+ * <p>Large caches are split into independently locked stripes. Each stripe keeps the IDs as pairs
+ * of {@code long}s in open-addressing arrays, so no {@link UUID} instances are retained. A shared
+ * counter bounds the whole cache by {@code maximumSize}: once it is reached, an insert evicts from
+ * its own stripe, or from another one when its own is empty. Since IDs never spread perfectly
+ * evenly, each stripe may grow to about three standard deviations above its share before it
+ * evicts on its own, so stripes rarely evict before the cache is full.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * IdempotencyCache<Order> cache = new IdempotencyCache<>(100_000, Duration.ofMinutes(10), timeProvider);
+ * Optional<Result<Order>> previous = cache.get(command.requestId());
+ * }</pre>
+ *
+ * @param <T> the entity type of the cached results
+ */
+public class IdempotencyCache<T> {
+
+    private static final int MAX_STRIPES = 16;
+    private static final int MIN_STRIPE_SIZE = 1024;
+
+    private final Stripe[] stripes;
+    private final AtomicInteger entries = new AtomicInteger();
+    private final int stripeShift;
+    private final long ttlMillis;
+    private final TimeProvider timeProvider;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maximumSize  the number of entries the cache holds before evicting
+     * @param ttl          the time after which an entry expires
+     * @param timeProvider the clock used to expire entries
+     */
+    public IdempotencyCache(int maximumSize, Duration ttl, TimeProvider timeProvider) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maximumSize / MIN_STRIPE_SIZE)));
+        int share = (maximumSize + stripeCount - 1) / stripeCount;
+        int stripeSize = stripeCount == 1 ? share : share + (int) Math.ceil(3 * Math.sqrt(share));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(stripeSize, maximumSize, entries);
+        }
+        this.stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+        this.ttlMillis = ttl.toMillis();
+        this.timeProvider = timeProvider;
+    }
+
+    /**
+     * Returns the result stored for the given ID, if present and not expired.
+     *
+     * @param id the request or event ID
+     * @return the stored result
+     */
+    public Optional<Result<T>> get(UUID id) {
+        long hash = hash(id);
+        return Optional.ofNullable(cast(stripe(hash).get(id, hash, now())));
+    }
+
+    /**
+     * Stores the result for the given ID, replacing any previous one.
+     *
+     * @param id     the request or event ID
+     * @param result the result to store
+     */
+    public void put(UUID id, Result<T> result) {
+        store(id, result, true);
+    }
+
+    /**
+     * Stores the result for the given ID unless a live entry already exists.
+     *
+     * @param id     the request or event ID
+     * @param result the result to store
+     * @return the previously stored result, or empty if the given result was stored
+     */
+    public Optional<Result<T>> putIfAbsent(UUID id, Result<T> result) {
+        return Optional.ofNullable(cast(store(id, result, false)));
+    }
+
+    /**
+     * Removes the entry for the given ID.
+     *
+     * @param id the request or event ID
+     */
+    public void invalidate(UUID id) {
+        long hash = hash(id);
+        stripe(hash).remove(id, hash);
+    }
+
+    /**
+     * Returns the number of stored entries, including expired ones not yet reclaimed.
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.get();
+    }
+
+    private Result<?> store(UUID id, Result<T> result, boolean replace) {
+        long hash = hash(id);
+        long now = now();
+        Stripe stripe = stripe(hash);
+        while (true) {
+            Result<?> previous = stripe.put(id, hash, result, now, ttlMillis, replace);
+            if (previous != Stripe.NO_ROOM) {
+                return previous;
+            }
+            // the cache is full and this stripe is empty, so make room in another one
+            for (Stripe other : stripes) {
+                if (other != stripe && other.evictOne(now)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private Stripe stripe(long hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    private long now() {
+        return timeProvider.clock().millis();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result<T> cast(Result<?> result) {
+        return (Result<T>) result;
+    }
+
+    private static long hash(UUID id) {
+        return mix(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private static long mix(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Open-addressing table with linear probing and backward-shift deletion.
+     */
+    private static final class Stripe {
+        private static final Result<?> NO_ROOM = Result.failure("No room in stripe");
+
+        private final int maximumSize;
+        private final int cacheMaximumSize;
+        private final AtomicInteger cacheEntries;
+        private final int mask;
+        private final long[] msb;
+        private final long[] lsb;
+        private final long[] expiresAt;
+        private final Result<?>[] results;
+        private final boolean[] referenced;
+        private int size;
+        private int hand;
+
+        private Stripe(int maximumSize, int cacheMaximumSize, AtomicInteger cacheEntries) {
+            int capacity = Integer.highestOneBit(Math.max(2, maximumSize) * 2 - 1) << 1;
+            this.maximumSize = maximumSize;
+            this.cacheMaximumSize = cacheMaximumSize;
+            this.cacheEntries = cacheEntries;
+            this.mask = capacity - 1;
+            this.msb = new long[capacity];
+            this.lsb = new long[capacity];
+            this.expiresAt = new long[capacity];
+            this.results = new Result<?>[capacity];
+            this.referenced = new boolean[capacity];
+        }
+
+        private synchronized Result<?> get(UUID id, long hash, long now) {
+            int slot = find(id, hash);
+            if (slot < 0) {
+                return null;
+            }
+            if (expiresAt[slot] <= now) {
+                delete(slot);
+                return null;
+            }
+            referenced[slot] = true;
+            return results[slot];
+        }
+
+        private synchronized Result<?> put(UUID id, long hash, Result<?> result, long now, long ttlMillis, boolean replace) {
+            int slot = find(id, hash);
+            if (slot >= 0) {
+                Result<?> previous = results[slot];
+                if (!replace && expiresAt[slot] > now) {
+                    referenced[slot] = true;
+                    return previous;
+                }
+                results[slot] = result;
+                expiresAt[slot] = now + ttlMillis;
+                referenced[slot] = false;
+                return null;
+            }
+            if (size >= maximumSize) {
+                evict(now);
+            }
+            if (!reserve(now)) {
+                return NO_ROOM;
+            }
+            slot = (int) hash & mask;
+            while (results[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            msb[slot] = id.getMostSignificantBits();
+            lsb[slot] = id.getLeastSignificantBits();
+            expiresAt[slot] = now + ttlMillis;
+            results[slot] = result;
+            referenced[slot] = false;
+            size++;
+            return null;
+        }
+
+        private synchronized boolean evictOne(long now) {
+            if (size == 0) {
+                return false;
+            }
+            evict(now);
+            return true;
+        }
+
+        private synchronized void remove(UUID id, long hash) {
+            int slot = find(id, hash);
+            if (slot >= 0) {
+                delete(slot);
+            }
+        }
+
+        private int find(UUID id, long hash) {
+            long idMsb = id.getMostSignificantBits();
+            long idLsb = id.getLeastSignificantBits();
+            int slot = (int) hash & mask;
+            while (results[slot] != null) {
+                if (msb[slot] == idMsb && lsb[slot] == idLsb) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Counts a new entry against the bound of the whole cache, evicting from this stripe while
+         * the cache is full. Fails when the cache is full and this stripe has nothing to evict.
+         */
+        private boolean reserve(long now) {
+            while (true) {
+                int current = cacheEntries.get();
+                if (current < cacheMaximumSize) {
+                    if (cacheEntries.compareAndSet(current, current + 1)) {
+                        return true;
+                    }
+                } else if (size > 0) {
+                    evict(now);
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        private void evict(long now) {
+            while (true) {
+                int slot = hand;
+                hand = (hand + 1) & mask;
+                if (results[slot] == null) {
+                    continue;
+                }
+                if (expiresAt[slot] <= now || !referenced[slot]) {
+                    delete(slot);
+                    return;
+                }
+                referenced[slot] = false;
+            }
+        }
+
+        private void delete(int slot) {
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (results[next] == null) {
+                    break;
+                }
+                int home = (int) mix(msb[next], lsb[next]) & mask;
+                boolean reachable = hole <= next
+                        ? hole < home && home <= next
+                        : hole < home || home <= next;
+                if (reachable) {
+                    continue;
+                }
+                msb[hole] = msb[next];
+                lsb[hole] = lsb[next];
+                expiresAt[hole] = expiresAt[next];
+                results[hole] = results[next];
+                referenced[hole] = referenced[next];
+                hole = next;
+            }
+            results[hole] = null;
+            size--;
+            cacheEntries.decrementAndGet();
+        }
+    }
+}
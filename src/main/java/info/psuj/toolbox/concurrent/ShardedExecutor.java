@@ -0,0 +1,289 @@
+package info.psuj.toolbox.concurrent;
+
+import info.psuj.toolbox.shared.Result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Executes commands on single-threaded lanes chosen by aggregate ID.
+ *
+ * <p>All commands submitted for the same ID run on the same lane, one at a time and in
+ * submission order, so aggregate handlers need no locking. Different IDs spread across lanes.
+ * IDs are mapped to lanes by consistent hashing, so {@link #resize(int)} moves only the IDs
+ * of the lanes added or removed.</p>
+ *
+ * <p>Each lane owns a bounded queue; {@link #submit} never waits for space in it and rejects
+ * the command when it is full, leaving backpressure to the caller. Lanes take commands from
+ * their queue in batches of up to {@code batchSize}. A good default is one lane per available
+ * processor.</p>
+ *
+ * <p>Commands may submit further commands. Since a resize waits for all queued commands to
+ * complete, a submission made by a command while a resize is in progress is rejected instead
+ * of waiting for it.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * ShardedExecutor executor = new ShardedExecutor(Runtime.getRuntime().availableProcessors(), 1024, 64);
+ * CompletableFuture<Result<Order>> placed = executor.submit(orderId, () -> orders.place(orderId, command));
+ * }</pre>
+ */
+public class ShardedExecutor implements AutoCloseable {
+
+    private static final int VIRTUAL_NODES = 128;
+    private static final ThreadLocal<ShardedExecutor> LANE_OWNER = new ThreadLocal<>();
+
+    private final int queueCapacity;
+    private final int batchSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Lane> lanes = new ArrayList<>();
+    private volatile Ring ring;
+    private boolean closed;
+
+    /**
+     * Creates an executor and starts its lanes.
+     *
+     * @param lanes         the number of lanes
+     * @param queueCapacity the capacity of each lane queue
+     * @param batchSize     the maximum number of commands a lane takes from its queue at once
+     */
+    public ShardedExecutor(int lanes, int queueCapacity, int batchSize) {
+        if (lanes < 1 || queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Lanes, queue capacity and batch size must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        for (int i = 0; i < lanes; i++) {
+            this.lanes.add(new Lane(i));
+        }
+        this.ring = new Ring(List.copyOf(this.lanes));
+    }
+
+    /**
+     * Submits a command for the given aggregate.
+     *
+     * @param aggregateId the ID of the aggregate the command belongs to
+     * @param command     the command to execute
+     * @param <T>         the entity type
+     * @return future completed with the result of the command, or exceptionally if it throws
+     * @throws RejectedExecutionException if the executor is closed, the lane queue is full, or the
+     *                                    command is submitted from a lane while a resize is in progress
+     */
+    public <T> CompletableFuture<Result<T>> submit(UUID aggregateId, Supplier<Result<T>> command) {
+        CompletableFuture<Result<T>> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                future.complete(command.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+        if (LANE_OWNER.get() == this) {
+            // a lane waiting for a resize would never let the resize complete
+            if (!lock.readLock().tryLock()) {
+                throw new RejectedExecutionException("Executor is being resized");
+            }
+        } else {
+            lock.readLock().lock();
+        }
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("Executor is closed");
+            }
+            if (!ring.laneFor(aggregateId).queue.offer(task)) {
+                throw new RejectedExecutionException("Lane queue is full");
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return future;
+    }
+
+    /**
+     * Returns the current number of lanes.
+     * @return the number of lanes
+     */
+    public int lanes() {
+        return ring.lanes.size();
+    }
+
+    /**
+     * Changes the number of lanes.
+     * <p>
+     * Blocks new submissions and waits until all queued commands have completed,
+     * so per-aggregate ordering is preserved across the change.
+     *
+     * @param count the new number of lanes
+     * @throws IllegalStateException if called from a command running on one of the lanes
+     */
+    public void resize(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Lanes must be positive");
+        }
+        ensureNotOnLane("resize");
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("Executor is closed");
+            }
+            awaitQuiescence();
+            while (lanes.size() < count) {
+                lanes.add(new Lane(lanes.size()));
+            }
+            while (lanes.size() > count) {
+                lanes.remove(lanes.size() - 1).stop();
+            }
+            ring = new Ring(List.copyOf(lanes));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops accepting commands, waits for queued commands to complete and stops the lanes.
+     *
+     * @throws IllegalStateException if called from a command running on one of the lanes
+     */
+    @Override
+    public void close() {
+        ensureNotOnLane("close");
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Lane lane : lanes) {
+                lane.stop();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureNotOnLane(String operation) {
+        // the lane would wait for itself to finish
+        if (LANE_OWNER.get() == this) {
+            throw new IllegalStateException("Cannot " + operation + " the executor from one of its commands");
+        }
+    }
+
+    private void awaitQuiescence() {
+        CountDownLatch drained = new CountDownLatch(lanes.size());
+        for (Lane lane : lanes) {
+            lane.enqueue(drained::countDown);
+        }
+        uninterruptibly(drained::await);
+    }
+
+    private static void uninterruptibly(Blocking action) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                action.run();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long mix(long value) {
+        long h = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private interface Blocking {
+        void run() throws InterruptedException;
+    }
+
+    /**
+     * Consistent-hash ring with {@link #VIRTUAL_NODES} points per lane.
+     */
+    private static final class Ring {
+        private final List<Lane> lanes;
+        private final long[] points;
+        private final Lane[] owners;
+
+        private Ring(List<Lane> lanes) {
+            this.lanes = lanes;
+            long[][] nodes = new long[lanes.size() * VIRTUAL_NODES][];
+            int n = 0;
+            for (Lane lane : lanes) {
+                for (int v = 0; v < VIRTUAL_NODES; v++) {
+                    nodes[n++] = new long[]{mix((long) lane.id * VIRTUAL_NODES + v + 1), lane.id};
+                }
+            }
+            Arrays.sort(nodes, (a, b) -> Long.compare(a[0], b[0]));
+            this.points = new long[nodes.length];
+            this.owners = new Lane[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                points[i] = nodes[i][0];
+                owners[i] = lanes.get((int) nodes[i][1]);
+            }
+        }
+
+        private Lane laneFor(UUID id) {
+            long hash = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+            int index = Arrays.binarySearch(points, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return owners[index == points.length ? 0 : index];
+        }
+    }
+
+    private final class Lane implements Runnable {
+        private final int id;
+        private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Lane(int id) {
+            this.id = id;
+            this.thread = new Thread(this, "sharded-executor-lane-" + id);
+            this.thread.start();
+        }
+
+        private void enqueue(Runnable task) {
+            uninterruptibly(() -> queue.put(task));
+        }
+
+        private void stop() {
+            enqueue(() -> running = false);
+            uninterruptibly(thread::join);
+        }
+
+        @Override
+        public void run() {
+            LANE_OWNER.set(ShardedExecutor.this);
+            List<Runnable> batch = new ArrayList<>(batchSize);
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                queue.drainTo(batch, batchSize - 1);
+                for (Runnable task : batch) {
+                    task.run();
+                }
+                batch.clear();
+            }
+        }
+    }
+}
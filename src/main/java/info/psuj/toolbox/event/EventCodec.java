@@ -0,0 +1,25 @@
+package info.psuj.toolbox.event;
+
+import info.psuj.toolbox.shared.DomainEvent;
+
+/**
+ * Converts {@link DomainEvent}s to and from their binary journal representation.
+ *
+ * <p>Used by {@link EventJournal} to store event payloads.</p>
+ */
+public interface EventCodec {
+
+    /**
+     * Serializes the given event.
+     * @param event the event to serialize
+     * @return the serialized payload
+     */
+    byte[] encode(DomainEvent event);
+
+    /**
+     * Deserializes an event previously produced by {@link #encode(DomainEvent)}.
+     * @param payload the serialized payload
+     * @return the restored event
+     */
+    DomainEvent decode(byte[] payload);
+}
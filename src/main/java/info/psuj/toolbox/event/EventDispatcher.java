@@ -0,0 +1,113 @@
+package info.psuj.toolbox.event;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Routes {@link DomainEvent}s to the handlers subscribed to their type.
+ *
+ * <p>A handler subscribed to a type receives events of that type and of all its subtypes.
+ * The handlers matching a concrete event class are resolved once, on the first event of that
+ * class, and cached as pre-bound {@link MethodHandle}s. Dispatching an event therefore costs one
+ * table lookup plus one call per matching handler, regardless of how many handlers are subscribed.</p>
+ *
+ * <p>Handlers are invoked in subscription order. Subscribing a handler discards the cached tables.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * EventDispatcher dispatcher = new EventDispatcher();
+ * dispatcher.subscribe(UserCreatedEvent.class, event -> sendWelcomeMail(event.userId()));
+ * dispatcher.dispatch(result);
+ * }</pre>
+ */
+public class EventDispatcher {
+
+    private static final MethodHandle ACCEPT;
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, DomainEvent.class);
+    private static final MethodHandle[] NO_HANDLERS = new MethodHandle[0];
+
+    static {
+        try {
+            ACCEPT = MethodHandles.publicLookup()
+                    .findVirtual(Consumer.class, "accept", MethodType.methodType(void.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private volatile ClassValue<MethodHandle[]> dispatchTable = newDispatchTable(List.of());
+
+    /**
+     * Subscribes a handler to events of the given type and its subtypes.
+     *
+     * @param type    the event type to handle
+     * @param handler the handler to invoke
+     * @param <E>     the event type
+     */
+    public synchronized <E extends DomainEvent> void subscribe(Class<E> type, Consumer<? super E> handler) {
+        MethodHandle bound = ACCEPT.bindTo(handler).asType(HANDLER_TYPE);
+        subscriptions.add(new Subscription(type, bound));
+        dispatchTable = newDispatchTable(List.copyOf(subscriptions));
+    }
+
+    /**
+     * Dispatches all events of the given result.
+     * <p>
+     * Failed results carry no events and are ignored.
+     *
+     * @param result the result whose events should be dispatched
+     */
+    public void dispatch(Result<?> result) {
+        for (DomainEvent event : result.events()) {
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Dispatches a single event to all handlers subscribed to its type.
+     *
+     * @param event the event to dispatch
+     */
+    public void dispatch(DomainEvent event) {
+        for (MethodHandle handler : dispatchTable.get(event.getClass())) {
+            invoke(handler, event);
+        }
+    }
+
+    private static void invoke(MethodHandle handler, DomainEvent event) {
+        try {
+            handler.invokeExact(event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Event handler failed", e);
+        }
+    }
+
+    private static ClassValue<MethodHandle[]> newDispatchTable(List<Subscription> subscriptions) {
+        return new ClassValue<>() {
+            @Override
+            protected MethodHandle[] computeValue(Class<?> eventClass) {
+                List<MethodHandle> handlers = new ArrayList<>();
+                for (Subscription subscription : subscriptions) {
+                    if (subscription.type().isAssignableFrom(eventClass)) {
+                        handlers.add(subscription.handler());
+                    }
+                }
+                return handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(NO_HANDLERS);
+            }
+        };
+    }
+
+    private record Subscription(Class<?> type, MethodHandle handler) {
+    }
+}
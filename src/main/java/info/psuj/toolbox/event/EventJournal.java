@@ -0,0 +1,415 @@
+package info.psuj.toolbox.event;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.TimeProvider;
+import info.psuj.toolbox.uuid.UuidProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Durable, append-only journal of the {@link DomainEvent}s carried by successful {@link Result}s.
+ *
+ * <p>Events are written to memory-mapped segment files in the given directory. Each record holds
+ * a sequential offset, an event ID issued by the {@link UuidProvider}, the append time taken from
+ * the {@link TimeProvider}, a CRC32C checksum and the payload produced by the {@link EventCodec}.
+ * A new segment is started when the current one is full or older than the configured duration.</p>
+ *
+ * <p>{@link #append(Result)} only writes to the page cache. Durability is obtained with
+ * {@link #commit()} or {@link #appendAndCommit(Result)}, which group concurrent callers so that
+ * a single {@code force()} covers every record appended before it.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * try (EventJournal journal = new EventJournal(directory, 64 * 1024 * 1024, Duration.ofHours(1),
+ *         codec, new SystemTimeProvider(), new SystemUuidProvider())) {
+ *     journal.appendAndCommit(result);
+ *     journal.replay(0, entry -> publish(entry.event()));
+ * }
+ * }</pre>
+ */
+public class EventJournal implements AutoCloseable {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 4 * Long.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long segmentDurationMillis;
+    private final EventCodec codec;
+    private final TimeProvider timeProvider;
+    private final UuidProvider uuidProvider;
+
+    private final Object commitLock = new Object();
+
+    private Segment active;
+    private long nextOffset;
+    private boolean closed;
+    private long durableOffset;
+
+    /**
+     * Opens the journal stored in the given directory, creating it if needed.
+     *
+     * @param directory       the directory holding the segment files
+     * @param segmentSize     the size of a single segment file in bytes
+     * @param segmentDuration the maximum time span covered by a single segment
+     * @param codec           the codec used to serialize events
+     * @param timeProvider    the source of append timestamps and segment age
+     * @param uuidProvider    the source of event IDs
+     */
+    public EventJournal(Path directory, int segmentSize, Duration segmentDuration, EventCodec codec,
+                        TimeProvider timeProvider, UuidProvider uuidProvider) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must be greater than " + HEADER_SIZE + " bytes");
+        }
+        if (segmentDuration.isNegative() || segmentDuration.isZero()) {
+            throw new IllegalArgumentException("Segment duration must be positive");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segmentDurationMillis = segmentDuration.toMillis();
+        this.codec = codec;
+        this.timeProvider = timeProvider;
+        this.uuidProvider = uuidProvider;
+        recover();
+        this.durableOffset = nextOffset;
+    }
+
+    /**
+     * Appends the events of the given result without waiting for them to reach the disk.
+     * <p>
+     * Failed results and results without events are ignored. All events are encoded before any
+     * of them is written, so an event that cannot be encoded leaves the journal unchanged.
+     *
+     * @param result the result whose events should be appended
+     * @return the offset of the last appended event, or {@code -1} if nothing was appended
+     */
+    public synchronized long append(Result<?> result) {
+        ensureOpen();
+        if (result.isFailure()) {
+            return -1;
+        }
+        List<byte[]> payloads = new ArrayList<>(result.events().size());
+        for (DomainEvent event : result.events()) {
+            byte[] payload = codec.encode(event);
+            if (HEADER_SIZE + payload.length > segmentSize) {
+                throw new IllegalArgumentException("Event of " + (HEADER_SIZE + payload.length)
+                        + " bytes exceeds the segment size of " + segmentSize + " bytes");
+            }
+            payloads.add(payload);
+        }
+        long lastOffset = -1;
+        for (byte[] payload : payloads) {
+            lastOffset = write(payload);
+        }
+        return lastOffset;
+    }
+
+    /**
+     * Appends the events of the given result and waits until they are durably stored.
+     *
+     * @param result the result whose events should be appended
+     * @return the offset of the last appended event, or {@code -1} if nothing was appended
+     */
+    public long appendAndCommit(Result<?> result) {
+        long lastOffset = append(result);
+        if (lastOffset >= 0) {
+            awaitDurable(lastOffset + 1);
+        }
+        return lastOffset;
+    }
+
+    /**
+     * Forces every event appended so far to the disk.
+     */
+    public void commit() {
+        long target;
+        synchronized (this) {
+            ensureOpen();
+            target = nextOffset;
+        }
+        awaitDurable(target);
+    }
+
+    /**
+     * Returns the offset that will be assigned to the next appended event.
+     * @return the next offset
+     */
+    public synchronized long nextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * Reads events sequentially, starting at the given offset, up to the last event appended
+     * before this call.
+     *
+     * @param fromOffset the first offset to read
+     * @param consumer   the consumer receiving the entries in offset order
+     */
+    public void replay(long fromOffset, Consumer<JournalEntry> consumer) {
+        long endOffset;
+        synchronized (this) {
+            ensureOpen();
+            endOffset = nextOffset;
+        }
+        List<Long> bases = segmentBases();
+        for (int i = 0; i < bases.size(); i++) {
+            if (i + 1 < bases.size() && bases.get(i + 1) <= fromOffset) {
+                continue;
+            }
+            if (!replaySegment(bases.get(i), fromOffset, endOffset, consumer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forces pending events to the disk and closes the journal.
+     */
+    @Override
+    public void close() {
+        synchronized (commitLock) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                active.buffer.force();
+                active.close();
+                closed = true;
+            }
+        }
+    }
+
+    private long write(byte[] payload) {
+        int length = HEADER_SIZE + payload.length;
+        Instant now = timeProvider.now();
+        if (active.position + length > active.buffer.capacity()
+                || (active.position > 0 && now.toEpochMilli() - active.createdAt >= segmentDurationMillis)) {
+            roll(now);
+        }
+
+        long offset = nextOffset;
+        UUID eventId = uuidProvider.randomUuid();
+        MappedByteBuffer buffer = active.buffer;
+        int position = active.position;
+        buffer.putLong(position + 8, offset);
+        buffer.putLong(position + 16, now.toEpochMilli());
+        buffer.putLong(position + 24, eventId.getMostSignificantBits());
+        buffer.putLong(position + 32, eventId.getLeastSignificantBits());
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position + 4, checksum(buffer, position, length));
+        // the length is written last, so a torn record reads as the end of the segment
+        buffer.putInt(position, length);
+
+        active.position += length;
+        nextOffset++;
+        return offset;
+    }
+
+    private static int checksum(ByteBuffer buffer, int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(position + length).position(position + 8));
+        return (int) crc.getValue();
+    }
+
+    private void awaitDurable(long targetOffset) {
+        synchronized (commitLock) {
+            if (durableOffset >= targetOffset) {
+                return;
+            }
+            Segment segment;
+            long written;
+            synchronized (this) {
+                ensureOpen();
+                segment = active;
+                written = nextOffset;
+            }
+            // earlier segments are forced when rolled, so only the active one is pending
+            segment.buffer.force();
+            durableOffset = written;
+        }
+    }
+
+    private void roll(Instant now) {
+        active.buffer.force();
+        active.close();
+        active = Segment.open(segmentPath(nextOffset), segmentSize, now.toEpochMilli());
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long now = timeProvider.now().toEpochMilli();
+        List<Long> bases = segmentBases();
+        if (bases.isEmpty()) {
+            active = Segment.open(segmentPath(0), segmentSize, now);
+            nextOffset = 0;
+            return;
+        }
+        long base = bases.get(bases.size() - 1);
+        active = Segment.open(segmentPath(base), segmentSize, now);
+        nextOffset = base;
+        MappedByteBuffer buffer = active.buffer;
+        int position = 0;
+        int length;
+        while ((length = validRecordLength(buffer, position)) > 0) {
+            nextOffset = buffer.getLong(position + 8) + 1;
+            position += length;
+        }
+        active.position = position;
+        if (position > 0) {
+            // the segment keeps aging from its first record, not from the restart
+            active.createdAt = buffer.getLong(16);
+        }
+        clearTail(buffer, position);
+    }
+
+    /**
+     * Zeroes the records following the last valid one, so a torn or corrupted record and the
+     * records written after it cannot be read back once new records reach them. Each record is
+     * bounded by its stored length, so the empty tail of a cleanly closed segment is not read.
+     */
+    private static void clearTail(MappedByteBuffer buffer, int from) {
+        int position = from;
+        int length;
+        while ((length = storedLength(buffer, position)) > 0) {
+            for (int i = position; i < position + length; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            position += length;
+        }
+        if (position > from) {
+            buffer.force();
+        }
+    }
+
+    private static int storedLength(ByteBuffer buffer, int position) {
+        if (position + Integer.BYTES > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        return length >= HEADER_SIZE && length <= buffer.capacity() - position ? length : 0;
+    }
+
+    private boolean replaySegment(long base, long fromOffset, long endOffset, Consumer<JournalEntry> consumer) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segmentPath(base), READ)) {
+            buffer = channel.map(READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int position = 0;
+        int length;
+        while ((length = validRecordLength(buffer, position)) > 0) {
+            long offset = buffer.getLong(position + 8);
+            if (offset >= endOffset) {
+                return false;
+            }
+            if (offset >= fromOffset) {
+                consumer.accept(readEntry(buffer, position, length));
+            }
+            position += length;
+        }
+        return true;
+    }
+
+    private JournalEntry readEntry(ByteBuffer buffer, int position, int length) {
+        byte[] payload = new byte[length - HEADER_SIZE];
+        buffer.get(position + HEADER_SIZE, payload);
+        return new JournalEntry(
+                buffer.getLong(position + 8),
+                new UUID(buffer.getLong(position + 24), buffer.getLong(position + 32)),
+                Instant.ofEpochMilli(buffer.getLong(position + 16)),
+                codec.decode(payload)
+        );
+    }
+
+    private int validRecordLength(ByteBuffer buffer, int position) {
+        if (position + HEADER_SIZE > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        if (length < HEADER_SIZE || position + length > buffer.capacity()) {
+            return 0;
+        }
+        return checksum(buffer, position, length) == buffer.getInt(position + 4) ? length : 0;
+    }
+
+    private List<Long> segmentBases() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+
+    private static class Segment {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private long createdAt;
+        private int position;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer, long createdAt) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.createdAt = createdAt;
+        }
+
+        private static Segment open(Path path, int segmentSize, long createdAt) {
+            try {
+                FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+                long size = Math.max(channel.size(), segmentSize);
+                return new Segment(channel, channel.map(READ_WRITE, 0, size), createdAt);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package info.psuj.toolbox.event;
+
+import info.psuj.toolbox.shared.DomainEvent;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Single event read back from an {@link EventJournal}.
+ *
+ * @param offset    the position of the entry in the journal, starting at {@code 0}
+ * @param eventId   the identifier assigned to the event when it was appended
+ * @param timestamp the time at which the event was appended
+ * @param event     the decoded event
+ */
+public record JournalEntry(long offset, UUID eventId, Instant timestamp, DomainEvent event) {
+}
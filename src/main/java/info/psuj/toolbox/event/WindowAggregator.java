@@ -0,0 +1,280 @@
+package info.psuj.toolbox.event;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.TimeProvider;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Aggregates a stream of {@link DomainEvent}s into per-key values over time windows.
+ *
+ * <p>Each event of the aggregated type is mapped to a key and a {@code long} value, which is
+ * folded into the running value of that key in every window covering the event's time. Values
+ * are reduced as events arrive, so the events themselves are never retained.</p>
+ *
+ * <p>Windows are closed by a watermark: the latest observed time minus the allowed lateness of
+ * the {@link WindowSpec}. When a window closes, one {@link WindowResult} per key is passed to the
+ * sink, in order of window start and then of first appearance of the key. With processing time,
+ * events are stamped with the {@link TimeProvider} clock; with event time, their timestamps are
+ * extracted from the events. Events falling only into closed windows are dropped and counted
+ * by {@link #lateEvents()}.</p>
+ *
+ * <p>Per-window state is kept in open-addressing tables of keys and primitive values, which are
+ * reused once their window closes, so memory stays flat while events flow through. Instances
+ * are not thread-safe.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * WindowAggregator<OrderPlaced, UUID> revenue = WindowAggregator.processingTime(
+ *         OrderPlaced.class, WindowSpec.tumbling(Duration.ofMinutes(1)),
+ *         OrderPlaced::storeId, OrderPlaced::amountInCents, Long::sum,
+ *         timeProvider, metrics::publish);
+ * revenue.accept(result);
+ * }</pre>
+ *
+ * @param <E> the aggregated event type
+ * @param <K> the key type
+ */
+public class WindowAggregator<E extends DomainEvent, K> {
+
+    private final Class<E> type;
+    private final Function<? super E, ? extends K> key;
+    private final ToLongFunction<? super E> value;
+    private final LongBinaryOperator reducer;
+    private final ToLongFunction<? super E> timestamp;
+    private final TimeProvider timeProvider;
+    private final Consumer<? super WindowResult<K>> sink;
+    private final long size;
+    private final long slide;
+    private final long allowedLateness;
+
+    private final TreeMap<Long, KeyTable<K>> windows = new TreeMap<>();
+    private final Deque<KeyTable<K>> freeTables = new ArrayDeque<>();
+    private long watermark = Long.MIN_VALUE;
+    private long lateEvents;
+
+    private WindowAggregator(Class<E> type, WindowSpec spec, Function<? super E, ? extends K> key,
+                             ToLongFunction<? super E> value, LongBinaryOperator reducer,
+                             ToLongFunction<? super E> timestamp, TimeProvider timeProvider,
+                             Consumer<? super WindowResult<K>> sink) {
+        this.type = type;
+        this.key = key;
+        this.value = value;
+        this.reducer = reducer;
+        this.timestamp = timestamp;
+        this.timeProvider = timeProvider;
+        this.sink = sink;
+        this.size = spec.size().toMillis();
+        this.slide = spec.slide().toMillis();
+        this.allowedLateness = spec.allowedLateness().toMillis();
+    }
+
+    /**
+     * Creates an aggregator assigning events to windows by the time they are accepted.
+     *
+     * @param type         the aggregated event type; other events are ignored
+     * @param spec         the windows
+     * @param key          function extracting the grouping key, which must not be null
+     * @param value        function extracting the value
+     * @param reducer      function folding a value into the running value of its key
+     * @param timeProvider the clock stamping accepted events and driving the watermark
+     * @param sink         the consumer of closed window values
+     * @param <E>          the aggregated event type
+     * @param <K>          the key type
+     * @return processing-time aggregator
+     */
+    public static <E extends DomainEvent, K> WindowAggregator<E, K> processingTime(
+            Class<E> type, WindowSpec spec, Function<? super E, ? extends K> key, ToLongFunction<? super E> value,
+            LongBinaryOperator reducer, TimeProvider timeProvider, Consumer<? super WindowResult<K>> sink) {
+        return new WindowAggregator<>(type, spec, key, value, reducer, null, timeProvider, sink);
+    }
+
+    /**
+     * Creates an aggregator assigning events to windows by their own timestamps.
+     *
+     * @param type      the aggregated event type; other events are ignored
+     * @param spec      the windows
+     * @param key       function extracting the grouping key, which must not be null
+     * @param value     function extracting the value
+     * @param reducer   function folding a value into the running value of its key
+     * @param timestamp function extracting the time at which the event occurred
+     * @param sink      the consumer of closed window values
+     * @param <E>       the aggregated event type
+     * @param <K>       the key type
+     * @return event-time aggregator
+     */
+    public static <E extends DomainEvent, K> WindowAggregator<E, K> eventTime(
+            Class<E> type, WindowSpec spec, Function<? super E, ? extends K> key, ToLongFunction<? super E> value,
+            LongBinaryOperator reducer, Function<? super E, Instant> timestamp, Consumer<? super WindowResult<K>> sink) {
+        return new WindowAggregator<>(type, spec, key, value, reducer, event -> timestamp.apply(event).toEpochMilli(), null, sink);
+    }
+
+    /**
+     * Aggregates the events of a successful result.
+     *
+     * @param result the result whose events are aggregated
+     */
+    public void accept(Result<?> result) {
+        for (DomainEvent event : result.events()) {
+            accept(event);
+        }
+    }
+
+    /**
+     * Aggregates a single event, closing the windows passed by the watermark first.
+     *
+     * @param event the event to aggregate
+     */
+    public void accept(DomainEvent event) {
+        if (!type.isInstance(event)) {
+            return;
+        }
+        E typed = type.cast(event);
+        long time = timestamp == null ? timeProvider.clock().millis() : timestamp.applyAsLong(typed);
+        advanceWatermark(time);
+
+        K eventKey = key.apply(typed);
+        long eventValue = value.applyAsLong(typed);
+        boolean assigned = false;
+        for (long start = Math.floorDiv(time, slide) * slide; start > time - size; start -= slide) {
+            if (start + size <= watermark) {
+                break;
+            }
+            windows.computeIfAbsent(start, ignored -> table()).add(eventKey, eventValue, reducer);
+            assigned = true;
+        }
+        if (!assigned) {
+            lateEvents++;
+        }
+    }
+
+    /**
+     * Closes the windows that ended according to the clock.
+     * <p>
+     * Useful with processing time when no events arrive. Event-time aggregators only advance
+     * with their events, so this has no effect on them.
+     */
+    public void advance() {
+        if (timestamp == null) {
+            advanceWatermark(timeProvider.clock().millis());
+        }
+    }
+
+    /**
+     * Closes all open windows, regardless of the watermark.
+     */
+    public void flush() {
+        while (!windows.isEmpty()) {
+            close(windows.pollFirstEntry());
+        }
+    }
+
+    /**
+     * Returns the number of events dropped because all their windows were already closed.
+     * @return the number of late events
+     */
+    public long lateEvents() {
+        return lateEvents;
+    }
+
+    private void advanceWatermark(long time) {
+        watermark = Math.max(watermark, time - allowedLateness);
+        while (!windows.isEmpty() && windows.firstKey() + size <= watermark) {
+            close(windows.pollFirstEntry());
+        }
+    }
+
+    private void close(Map.Entry<Long, KeyTable<K>> window) {
+        Instant start = Instant.ofEpochMilli(window.getKey());
+        Instant end = Instant.ofEpochMilli(window.getKey() + size);
+        KeyTable<K> table = window.getValue();
+        table.forEach((windowKey, windowValue) -> sink.accept(new WindowResult<>(start, end, windowKey, windowValue)));
+        table.clear();
+        freeTables.push(table);
+    }
+
+    private KeyTable<K> table() {
+        KeyTable<K> table = freeTables.poll();
+        return table == null ? new KeyTable<>() : table;
+    }
+
+    private interface KeyValueConsumer<K> {
+        void accept(K key, long value);
+    }
+
+    /**
+     * Open-addressing table of keys and primitive values, remembering insertion order.
+     */
+    private static final class KeyTable<K> {
+        private Object[] keys = new Object[16];
+        private long[] values = new long[16];
+        private int[] order = new int[8];
+        private int size;
+
+        private void add(K key, long value, LongBinaryOperator reducer) {
+            int mask = keys.length - 1;
+            int slot = mix(key.hashCode()) & mask;
+            while (keys[slot] != null) {
+                if (keys[slot].equals(key)) {
+                    values[slot] = reducer.applyAsLong(values[slot], value);
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            order[size++] = slot;
+            if (size == order.length) {
+                grow();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void forEach(KeyValueConsumer<K> consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept((K) keys[order[i]], values[order[i]]);
+            }
+        }
+
+        private void clear() {
+            for (int i = 0; i < size; i++) {
+                keys[order[i]] = null;
+            }
+            size = 0;
+        }
+
+        private void grow() {
+            Object[] oldKeys = keys;
+            long[] oldValues = values;
+            int[] oldOrder = order;
+            keys = new Object[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            order = new int[oldOrder.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < size; i++) {
+                int slot = mix(oldKeys[oldOrder[i]].hashCode()) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[oldOrder[i]];
+                values[slot] = oldValues[oldOrder[i]];
+                order[i] = slot;
+            }
+        }
+
+        private static int mix(int hash) {
+            int h = hash * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
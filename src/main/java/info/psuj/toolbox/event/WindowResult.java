@@ -0,0 +1,15 @@
+package info.psuj.toolbox.event;
+
+import java.time.Instant;
+
+/**
+ * Aggregated value of one key in one closed window of a {@link WindowAggregator}.
+ *
+ * @param start the inclusive start of the window
+ * @param end   the exclusive end of the window
+ * @param key   the grouping key
+ * @param value the reduced value
+ * @param <K>   the key type
+ */
+public record WindowResult<K>(Instant start, Instant end, K key, long value) {
+}
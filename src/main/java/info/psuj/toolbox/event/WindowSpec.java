@@ -0,0 +1,64 @@
+package info.psuj.toolbox.event;
+
+import java.time.Duration;
+
+/**
+ * Describes the time windows of a {@link WindowAggregator}.
+ *
+ * <p>Windows are aligned to the epoch and start every {@code slide}. A window covers
+ * {@code size}, so windows overlap when the slide is shorter than the size. A window is closed
+ * once the watermark passes its end; {@code allowedLateness} holds the watermark back so that
+ * out-of-order events still reach their windows.</p>
+ *
+ * @param size            the length of each window
+ * @param slide           the interval between the starts of consecutive windows
+ * @param allowedLateness how far the watermark trails the latest observed time
+ */
+public record WindowSpec(Duration size, Duration slide, Duration allowedLateness) {
+
+    /**
+     * Validates the specification.
+     */
+    public WindowSpec {
+        if (size.toMillis() < 1 || slide.toMillis() < 1) {
+            throw new IllegalArgumentException("Window size and slide must be at least one millisecond");
+        }
+        if (slide.compareTo(size) > 0) {
+            throw new IllegalArgumentException("Window slide must not exceed its size");
+        }
+        if (allowedLateness.isNegative()) {
+            throw new IllegalArgumentException("Allowed lateness must not be negative");
+        }
+    }
+
+    /**
+     * Returns consecutive, non-overlapping windows of the given size.
+     *
+     * @param size the length of each window
+     * @return tumbling windows
+     */
+    public static WindowSpec tumbling(Duration size) {
+        return new WindowSpec(size, size, Duration.ZERO);
+    }
+
+    /**
+     * Returns overlapping windows of the given size, starting every {@code slide}.
+     *
+     * @param size  the length of each window
+     * @param slide the interval between the starts of consecutive windows
+     * @return sliding windows
+     */
+    public static WindowSpec sliding(Duration size, Duration slide) {
+        return new WindowSpec(size, slide, Duration.ZERO);
+    }
+
+    /**
+     * Returns a copy of this specification with the given allowed lateness.
+     *
+     * @param allowedLateness how far the watermark trails the latest observed time
+     * @return windows accepting events up to the given lateness
+     */
+    public WindowSpec withAllowedLateness(Duration allowedLateness) {
+        return new WindowSpec(size, slide, allowedLateness);
+    }
+}
@@ -0,0 +1,36 @@
+package info.psuj.toolbox.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import jdk.jfr.Timestamp;
+
+/**
+ * Flight Recorder event emitted when a {@link RecordingTimeProvider} observes its clock going backwards.
+ *
+ * <p>Disabled by default.</p>
+ */
+@Name("info.psuj.toolbox.ClockAnomaly")
+@Label("Clock Anomaly")
+@Description("Clock of a TimeProvider returned an instant earlier than a previously returned one")
+@Category({"Toolbox", "Time"})
+@Enabled(false)
+@StackTrace(false)
+public class ClockAnomalyEvent extends jdk.jfr.Event {
+
+    @Label("Previous Instant")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long previous;
+
+    @Label("Current Instant")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long current;
+
+    @Label("Backward Jump")
+    @Timespan(Timespan.NANOSECONDS)
+    long backwardJump;
+}
@@ -0,0 +1,93 @@
+package info.psuj.toolbox.jfr;
+
+import info.psuj.toolbox.shared.ErrorAggregation;
+import info.psuj.toolbox.shared.EventCoalescer;
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.shared.Results;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Utility class recording the outcome of {@link Result}-returning operations as
+ * {@link ResultOutcomeEvent}s, and combined batches of results as {@link ResultsCombineEvent}s.
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * Result<Order> result = RecordedResults.call("placeOrder", () -> orders.place(command));
+ * Result<List<Row>> imported = RecordedResults.combine(rows);
+ * }</pre>
+ */
+public class RecordedResults {
+    private RecordedResults() {}
+
+    /**
+     * Executes the operation and records its duration and outcome.
+     * <p>
+     * Costs close to nothing while the event is not enabled in a Flight Recorder recording.
+     *
+     * @param operation the name under which the outcome is recorded
+     * @param call      the operation to execute
+     * @param <T>       the entity type
+     * @return the result of the operation
+     */
+    public static <T> Result<T> call(String operation, Supplier<Result<T>> call) {
+        ResultOutcomeEvent event = new ResultOutcomeEvent();
+        event.begin();
+        Result<T> result = call.get();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.success = result.isSuccess();
+            event.eventCount = result.events().size();
+            event.errorCount = result.errors().size();
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Combines the results like {@link Results#combine(Collection)} and records the batch statistics.
+     *
+     * @param results the results to combine
+     * @param <T>     the entity type
+     * @return combined result
+     */
+    public static <T> Result<List<T>> combine(Collection<Result<T>> results) {
+        return combine(results, EventCoalescer.none(), ErrorAggregation.distinct());
+    }
+
+    /**
+     * Combines the results like {@link Results#combine(Collection, EventCoalescer, ErrorAggregation)}
+     * and records the batch statistics.
+     * <p>
+     * Costs close to nothing while the event is not enabled in a Flight Recorder recording.
+     *
+     * @param results     the results to combine
+     * @param coalescer   the coalescer applied to domain events
+     * @param aggregation the aggregation applied to error messages
+     * @param <T>         the entity type
+     * @return combined result
+     */
+    public static <T> Result<List<T>> combine(Collection<Result<T>> results, EventCoalescer coalescer,
+                                              ErrorAggregation aggregation) {
+        ResultsCombineEvent event = new ResultsCombineEvent();
+        event.begin();
+        Result<List<T>> combined = Results.combine(results, coalescer, aggregation);
+        if (event.shouldCommit()) {
+            int failures = 0;
+            for (Result<T> result : results) {
+                if (result.isFailure()) {
+                    failures++;
+                }
+            }
+            event.batchSize = results.size();
+            event.failureCount = failures;
+            event.eventCount = combined.events().size();
+            event.errorCount = combined.errors().size();
+            event.commit();
+        }
+        return combined;
+    }
+}
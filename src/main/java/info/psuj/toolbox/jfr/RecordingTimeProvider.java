@@ -0,0 +1,84 @@
+package info.psuj.toolbox.jfr;
+
+import info.psuj.toolbox.time.TimeProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link TimeProvider} decorator emitting a {@link ClockAnomalyEvent} when the clock goes backwards.
+ * <p>
+ * Instants read concurrently by several threads may be observed slightly out of order,
+ * so backward jumps up to the given tolerance are ignored. Costs close to nothing while the
+ * event is not enabled in a Flight Recorder recording.
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * TimeProvider timeProvider = new RecordingTimeProvider(new SystemTimeProvider(), Duration.ofMillis(10));
+ * }</pre>
+ */
+public class RecordingTimeProvider implements TimeProvider {
+    private final Clock clock;
+
+    /**
+     * Creates a recording decorator.
+     *
+     * @param delegate  the provider supplying the time
+     * @param tolerance the largest backward jump that is not reported
+     */
+    public RecordingTimeProvider(TimeProvider delegate, Duration tolerance) {
+        this.clock = new RecordingClock(delegate, tolerance.toNanos(), new AtomicLong(Long.MIN_VALUE));
+    }
+
+    @Override
+    public Clock clock() {
+        return clock;
+    }
+
+    private static final class RecordingClock extends Clock {
+        private final TimeProvider delegate;
+        private final long toleranceNanos;
+        private final AtomicLong latestNanos;
+
+        private RecordingClock(TimeProvider delegate, long toleranceNanos, AtomicLong latestNanos) {
+            this.delegate = delegate;
+            this.toleranceNanos = toleranceNanos;
+            this.latestNanos = latestNanos;
+        }
+
+        @Override
+        public Instant instant() {
+            Instant instant = delegate.clock().instant();
+            ClockAnomalyEvent event = new ClockAnomalyEvent();
+            if (event.isEnabled()) {
+                check(instant, event);
+            }
+            return instant;
+        }
+
+        private void check(Instant instant, ClockAnomalyEvent event) {
+            long nanos = instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+            long previous = latestNanos.getAndAccumulate(nanos, Math::max);
+            if (previous != Long.MIN_VALUE && previous - nanos > toleranceNanos) {
+                event.previous = previous / 1_000_000L;
+                event.current = instant.toEpochMilli();
+                event.backwardJump = previous - nanos;
+                event.commit();
+            }
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return delegate.clock().getZone();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new RecordingClock(() -> delegate.clock().withZone(zone), toleranceNanos, latestNanos);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package info.psuj.toolbox.jfr;
+
+import info.psuj.toolbox.uuid.UuidProvider;
+
+import java.util.UUID;
+
+/**
+ * {@link UuidProvider} decorator emitting a {@link UuidGenerationEvent} for each generated UUID.
+ * <p>
+ * Costs close to nothing while the event is not enabled in a Flight Recorder recording.
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * UuidProvider uuidProvider = new RecordingUuidProvider(new SystemUuidProvider());
+ * }</pre>
+ */
+public class RecordingUuidProvider implements UuidProvider {
+    private final UuidProvider delegate;
+
+    /**
+     * Creates a recording decorator.
+     * @param delegate the provider generating the UUIDs
+     */
+    public RecordingUuidProvider(UuidProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public UUID randomUuid() {
+        UuidGenerationEvent event = new UuidGenerationEvent();
+        event.begin();
+        UUID uuid = delegate.randomUuid();
+        if (event.shouldCommit()) {
+            event.provider = delegate.getClass().getName();
+            event.commit();
+        }
+        return uuid;
+    }
+}
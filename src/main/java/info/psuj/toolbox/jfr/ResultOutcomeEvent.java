@@ -0,0 +1,35 @@
+package info.psuj.toolbox.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for each operation executed through {@link RecordedResults#call}.
+ *
+ * <p>The event duration is the duration of the operation. Failure rates per operation can be
+ * derived by grouping on the operation name. Disabled by default.</p>
+ */
+@Name("info.psuj.toolbox.ResultOutcome")
+@Label("Result Outcome")
+@Description("Outcome of an operation returning a Result")
+@Category({"Toolbox", "Result"})
+@Enabled(false)
+@StackTrace(false)
+public class ResultOutcomeEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Event Count")
+    int eventCount;
+
+    @Label("Error Count")
+    int errorCount;
+}
@@ -0,0 +1,34 @@
+package info.psuj.toolbox.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for each batch combined through {@link RecordedResults#combine}.
+ *
+ * <p>The event duration is the time spent combining. Disabled by default.</p>
+ */
+@Name("info.psuj.toolbox.ResultsCombine")
+@Label("Results Combine")
+@Description("Combination of a batch of Results into a single Result")
+@Category({"Toolbox", "Result"})
+@Enabled(false)
+@StackTrace(false)
+public class ResultsCombineEvent extends jdk.jfr.Event {
+
+    @Label("Batch Size")
+    int batchSize;
+
+    @Label("Failure Count")
+    int failureCount;
+
+    @Label("Event Count")
+    int eventCount;
+
+    @Label("Error Count")
+    int errorCount;
+}
@@ -0,0 +1,25 @@
+package info.psuj.toolbox.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for each UUID generated through a {@link RecordingUuidProvider}.
+ *
+ * <p>The event duration is the generation latency. Disabled by default.</p>
+ */
+@Name("info.psuj.toolbox.UuidGeneration")
+@Label("UUID Generation")
+@Description("Generation of a UUID by a UuidProvider")
+@Category({"Toolbox", "UUID"})
+@Enabled(false)
+@StackTrace(false)
+public class UuidGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Provider")
+    String provider;
+}
@@ -0,0 +1,207 @@
+package info.psuj.toolbox.resilience;
+
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.TimeProvider;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Fails {@link Result}-returning calls fast while a dependency is unhealthy.
+ *
+ * <p>The outcomes of recent calls are kept in a lock-free ring. Each slot stores the outcome as
+ * packed counters (calls, failures and slow calls in 21-bit fields), and a single atomic word
+ * holds their running totals, so recording an outcome costs two atomic operations. The state is
+ * an immutable phase swapped atomically. Each half-open phase carries its own trial counters and
+ * each closed phase its own ring, so a late thread can neither reset a running trial nor skew the
+ * outcomes of a breaker that has closed again. When the {@link CircuitBreakerPolicy} thresholds
+ * are reached, the breaker opens and returns a failure without invoking the operation. Cooldown
+ * and call durations are measured with the {@link TimeProvider}.</p>
+ *
+ * <p>Under heavy contention, an outcome may be overwritten before it is counted, so the rates
+ * are approximate.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * CircuitBreaker breaker = new CircuitBreaker(
+ *         new CircuitBreakerPolicy(100, 20, 0.5, Duration.ofSeconds(1), 0.8, Duration.ofSeconds(30), 5),
+ *         timeProvider);
+ * Result<Stock> stock = breaker.call(() -> inventory.check(productId));
+ * }</pre>
+ */
+public class CircuitBreaker {
+
+    /**
+     * State of a circuit breaker.
+     */
+    public enum State {
+        /** Calls are executed and their outcomes recorded. */
+        CLOSED,
+        /** Calls are rejected without being executed. */
+        OPEN,
+        /** A limited number of trial calls is executed to probe the dependency. */
+        HALF_OPEN
+    }
+
+    /**
+     * Error message of the failure returned while the breaker rejects calls.
+     */
+    public static final String OPEN_ERROR = "Circuit breaker is open";
+
+    private static final int FIELD_BITS = 21;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    private static final long CALL = 1L;
+    private static final long FAILURE = 1L << FIELD_BITS;
+    private static final long SLOW = 1L << (2 * FIELD_BITS);
+
+    private final CircuitBreakerPolicy policy;
+    private final TimeProvider timeProvider;
+    private final long slowCallMillis;
+    private final long openMillis;
+
+    private final AtomicReference<Phase> phase;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param policy       the thresholds and recovery settings
+     * @param timeProvider the clock measuring cooldowns and call durations
+     */
+    public CircuitBreaker(CircuitBreakerPolicy policy, TimeProvider timeProvider) {
+        this.policy = policy;
+        this.timeProvider = timeProvider;
+        this.slowCallMillis = policy.slowCallDuration().toMillis();
+        this.openMillis = policy.openDuration().toMillis();
+        this.phase = new AtomicReference<>(closed(0));
+    }
+
+    /**
+     * Executes the operation unless the breaker is open.
+     * <p>
+     * Exceptions thrown by the operation are recorded as failures and propagated.
+     *
+     * @param operation the operation to execute
+     * @param <T>       the entity type
+     * @return the result of the operation, or a failure with {@link #OPEN_ERROR} if the call was rejected
+     */
+    public <T> Result<T> call(Supplier<Result<T>> operation) {
+        long start = timeProvider.clock().millis();
+        Phase permit = acquirePermission(start);
+        if (permit == null) {
+            return Result.failure(OPEN_ERROR);
+        }
+        boolean failed = true;
+        try {
+            Result<T> result = operation.get();
+            failed = result.isFailure();
+            return result;
+        } finally {
+            long end = timeProvider.clock().millis();
+            onOutcome(permit, failed, end - start > slowCallMillis, end);
+        }
+    }
+
+    /**
+     * Returns the current state. An open breaker whose cooldown has expired is reported as
+     * half-open, although it only switches on the next call.
+     * @return the current state
+     */
+    public State state() {
+        Phase current = phase.get();
+        if (current.state == State.OPEN && timeProvider.clock().millis() - current.since >= openMillis) {
+            return State.HALF_OPEN;
+        }
+        return current.state;
+    }
+
+    private Phase acquirePermission(long now) {
+        while (true) {
+            Phase current = phase.get();
+            switch (current.state) {
+                case CLOSED:
+                    return current;
+                case HALF_OPEN:
+                    // stops at zero, so rejected calls cannot wrap the counter around
+                    return current.permits.getAndUpdate(permits -> permits > 0 ? permits - 1 : permits) > 0
+                            ? current : null;
+                default:
+                    if (now - current.since < openMillis) {
+                        return null;
+                    }
+                    // only the thread winning the swap starts a trial, with fresh counters
+                    phase.compareAndSet(current, new Phase(State.HALF_OPEN, now, policy.halfOpenCalls(), null));
+            }
+        }
+    }
+
+    private void onOutcome(Phase permit, boolean failed, boolean slow, long now) {
+        if (permit.state == State.HALF_OPEN) {
+            if (failed) {
+                phase.compareAndSet(permit, new Phase(State.OPEN, now, 0, null));
+            } else if (permit.successes.incrementAndGet() == policy.halfOpenCalls()) {
+                phase.compareAndSet(permit, closed(now));
+            }
+            return;
+        }
+        long outcome = CALL | (failed ? FAILURE : 0) | (slow ? SLOW : 0);
+        Window window = permit.window;
+        int slot = (int) (window.cursor.getAndIncrement() % window.slots.length());
+        long replaced = window.slots.getAndSet(slot, outcome);
+        long current = window.totals.addAndGet(outcome - replaced);
+        if (shouldOpen(current, window.slots.length())) {
+            phase.compareAndSet(permit, new Phase(State.OPEN, now, 0, null));
+        }
+    }
+
+    private Phase closed(long now) {
+        return new Phase(State.CLOSED, now, 0, new Window(policy.windowSize()));
+    }
+
+    private boolean shouldOpen(long counters, int windowSize) {
+        long calls = counters & FIELD_MASK;
+        long failures = (counters >>> FIELD_BITS) & FIELD_MASK;
+        long slowCalls = (counters >>> (2 * FIELD_BITS)) & FIELD_MASK;
+        // fields can be transiently inconsistent while concurrent updates are applied
+        if (calls < policy.minimumCalls() || calls > windowSize || failures > calls || slowCalls > calls) {
+            return false;
+        }
+        return failures >= policy.failureRateThreshold() * calls
+                || slowCalls >= policy.slowCallRateThreshold() * calls;
+    }
+
+    /**
+     * State entered at a given time. A closed phase records outcomes in its own window; a
+     * half-open phase counts the trial calls it admits and the successes among them.
+     */
+    private static final class Phase {
+        private final State state;
+        private final long since;
+        private final AtomicInteger permits;
+        private final AtomicInteger successes = new AtomicInteger();
+        private final Window window;
+
+        private Phase(State state, long since, int permits, Window window) {
+            this.state = state;
+            this.since = since;
+            this.permits = new AtomicInteger(permits);
+            this.window = window;
+        }
+    }
+
+    /**
+     * Ring of packed outcomes with their running totals.
+     */
+    private static final class Window {
+        private final AtomicLongArray slots;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicLong totals = new AtomicLong();
+
+        private Window(int size) {
+            this.slots = new AtomicLongArray(size);
+        }
+    }
+}
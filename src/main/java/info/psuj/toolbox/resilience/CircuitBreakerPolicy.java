@@ -0,0 +1,46 @@
+package info.psuj.toolbox.resilience;
+
+import java.time.Duration;
+
+/**
+ * Describes when a {@link CircuitBreaker} opens and how it recovers.
+ *
+ * <p>The breaker opens once at least {@code minimumCalls} of the last {@code windowSize} calls
+ * were recorded and either the failure rate or the slow-call rate reaches its threshold. After
+ * {@code openDuration} it lets {@code halfOpenCalls} trial calls through; it closes if all of them
+ * succeed and opens again on the first failure.</p>
+ *
+ * @param windowSize            the number of most recent calls considered, at most {@code 2^21 - 1}
+ * @param minimumCalls          the number of calls needed before rates are evaluated
+ * @param failureRateThreshold  the failure rate opening the breaker, between {@code 0} and {@code 1}
+ * @param slowCallDuration      the duration above which a call counts as slow
+ * @param slowCallRateThreshold the slow-call rate opening the breaker, between {@code 0} and {@code 1}
+ * @param openDuration          how long the breaker rejects calls before trying again
+ * @param halfOpenCalls         the number of trial calls needed to close the breaker
+ */
+public record CircuitBreakerPolicy(int windowSize, int minimumCalls, double failureRateThreshold, Duration slowCallDuration,
+                                   double slowCallRateThreshold, Duration openDuration, int halfOpenCalls) {
+
+    static final int MAX_WINDOW_SIZE = (1 << 21) - 1;
+
+    /**
+     * Validates the policy.
+     */
+    public CircuitBreakerPolicy {
+        if (windowSize < 1 || windowSize > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException("Window size must be between 1 and " + MAX_WINDOW_SIZE);
+        }
+        if (minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Minimum calls must be between 1 and the window size");
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1 || slowCallRateThreshold <= 0 || slowCallRateThreshold > 1) {
+            throw new IllegalArgumentException("Rate thresholds must be greater than 0 and at most 1");
+        }
+        if (slowCallDuration.isNegative() || openDuration.isNegative()) {
+            throw new IllegalArgumentException("Durations must not be negative");
+        }
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Half-open calls must be at least 1");
+        }
+    }
+}
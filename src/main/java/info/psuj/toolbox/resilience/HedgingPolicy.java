@@ -0,0 +1,31 @@
+package info.psuj.toolbox.resilience;
+
+import java.time.Duration;
+
+/**
+ * Describes when a speculative duplicate of a slow call is launched.
+ *
+ * <p>A duplicate is launched once the original call has been running longer than the given
+ * percentile of recently observed latencies, but never earlier than {@code minimumDelay}.</p>
+ *
+ * @param percentile   the latency percentile triggering the duplicate, between {@code 0} and {@code 1}
+ * @param minimumDelay the shortest wait before a duplicate is launched
+ * @param sampleSize   the number of recent latencies the percentile is computed from
+ */
+public record HedgingPolicy(double percentile, Duration minimumDelay, int sampleSize) {
+
+    /**
+     * Validates the policy.
+     */
+    public HedgingPolicy {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be greater than 0 and at most 1");
+        }
+        if (minimumDelay.isNegative()) {
+            throw new IllegalArgumentException("Minimum delay must not be negative");
+        }
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("Sample size must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package info.psuj.toolbox.resilience;
+
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.TimeProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Executes {@link Result}-returning operations, retrying failures with exponential backoff.
+ *
+ * <p>Failed results are retried according to the {@link RetryPolicy}; exceptions are propagated
+ * immediately. Waits between attempts go through the {@link Sleeper}, so tests can verify the
+ * whole policy without real sleeps.</p>
+ *
+ * <p>When created with a {@link HedgingPolicy}, each attempt runs on the given executor. If it is
+ * still running after the hedging delay, a duplicate call is launched and the first success
+ * wins. The call that loses is cancelled with an interrupt. Latencies are measured with the
+ * {@link TimeProvider}, and the wait for the hedging delay goes through
+ * {@link Sleeper#await(Future, Duration)}, so hedging can be tested without real waits either.
+ * On Java 21 and later, a virtual-thread-per-task executor is a good fit.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * RetryExecutor retry = new RetryExecutor(
+ *         RetryPolicy.exponential(3, Duration.ofMillis(50), Duration.ofSeconds(1)),
+ *         new HedgingPolicy(0.95, Duration.ofMillis(20), 200),
+ *         executor, timeProvider, Sleeper.system());
+ * Result<Price> price = retry.execute(() -> pricing.quote(productId));
+ * }</pre>
+ */
+public class RetryExecutor {
+
+    private final RetryPolicy retryPolicy;
+    private final HedgingPolicy hedgingPolicy;
+    private final Executor executor;
+    private final TimeProvider timeProvider;
+    private final Sleeper sleeper;
+    private final LatencySamples latencies;
+
+    /**
+     * Creates an executor running attempts on the calling thread, without hedging.
+     *
+     * @param retryPolicy the retry policy
+     * @param sleeper     the sleeper used to wait between attempts
+     */
+    public RetryExecutor(RetryPolicy retryPolicy, Sleeper sleeper) {
+        this(retryPolicy, null, null, null, sleeper);
+    }
+
+    /**
+     * Creates an executor hedging slow attempts.
+     *
+     * @param retryPolicy   the retry policy
+     * @param hedgingPolicy the hedging policy
+     * @param executor      the executor running the calls
+     * @param timeProvider  the clock used to measure call latencies
+     * @param sleeper       the sleeper used to wait between attempts
+     */
+    public RetryExecutor(RetryPolicy retryPolicy, HedgingPolicy hedgingPolicy, Executor executor,
+                         TimeProvider timeProvider, Sleeper sleeper) {
+        if (hedgingPolicy != null && (executor == null || timeProvider == null)) {
+            throw new IllegalArgumentException("Hedging requires an executor and a time provider");
+        }
+        this.retryPolicy = retryPolicy;
+        this.hedgingPolicy = hedgingPolicy;
+        this.executor = executor;
+        this.timeProvider = timeProvider;
+        this.sleeper = sleeper;
+        this.latencies = hedgingPolicy == null ? null : new LatencySamples(hedgingPolicy.sampleSize());
+    }
+
+    /**
+     * Executes the operation, retrying failed results.
+     * <p>
+     * If the thread is interrupted while waiting, the interrupt flag is restored and a failure is returned.
+     *
+     * @param operation the operation to execute
+     * @param <T>       the entity type
+     * @return the first successful result, or the last failure once all attempts are used
+     */
+    public <T> Result<T> execute(Supplier<Result<T>> operation) {
+        try {
+            Result<T> result = attempt(operation);
+            for (int retry = 1; result.isFailure() && retry < retryPolicy.maxAttempts(); retry++) {
+                sleeper.sleep(retryPolicy.backoff(retry, ThreadLocalRandom.current().nextDouble()));
+                result = attempt(operation);
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.failure("Interrupted while retrying");
+        }
+    }
+
+    private <T> Result<T> attempt(Supplier<Result<T>> operation) throws InterruptedException {
+        if (hedgingPolicy == null) {
+            return operation.get();
+        }
+        CompletionService<Result<T>> calls = new ExecutorCompletionService<>(executor);
+        List<Future<Result<T>>> launched = new ArrayList<>(2);
+        try {
+            Future<Result<T>> original = calls.submit(timed(operation));
+            launched.add(original);
+            if (!sleeper.await(original, hedgingDelay())) {
+                launched.add(calls.submit(timed(operation)));
+            }
+            Future<Result<T>> completed = calls.take();
+            if (launched.size() == 1) {
+                return outcome(completed);
+            }
+            Result<T> first = outcomeOrNull(completed);
+            if (first != null && first.isSuccess()) {
+                return first;
+            }
+            Result<T> second = outcome(calls.take());
+            return second.isSuccess() || first == null ? second : first;
+        } finally {
+            for (Future<Result<T>> call : launched) {
+                call.cancel(true);
+            }
+        }
+    }
+
+    private <T> Callable<Result<T>> timed(Supplier<Result<T>> operation) {
+        return () -> {
+            Instant start = timeProvider.now();
+            Result<T> result = operation.get();
+            latencies.record(Duration.between(start, timeProvider.now()).toNanos());
+            return result;
+        };
+    }
+
+    private Duration hedgingDelay() {
+        long percentile = latencies.percentile(hedgingPolicy.percentile());
+        return percentile > hedgingPolicy.minimumDelay().toNanos() ? Duration.ofNanos(percentile) : hedgingPolicy.minimumDelay();
+    }
+
+    private static <T> Result<T> outcome(Future<Result<T>> call) throws InterruptedException {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static <T> Result<T> outcomeOrNull(Future<Result<T>> call) throws InterruptedException {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Ring buffer of the most recent call latencies.
+     */
+    private static final class LatencySamples {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        private LatencySamples(int size) {
+            this.samples = new long[size];
+        }
+
+        private synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        private synchronized long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package info.psuj.toolbox.resilience;
+
+import java.time.Duration;
+
+/**
+ * Describes how often and how quickly failed operations are retried.
+ *
+ * <p>The n-th retry waits {@code initialBackoff * multiplier^(n-1)}, capped at {@code maxBackoff}.
+ * A jitter of {@code j} randomly shortens each wait by up to {@code j} of its length, so that
+ * clients failing together do not retry together.</p>
+ *
+ * @param maxAttempts    the maximum number of attempts, including the first one
+ * @param initialBackoff the wait before the first retry
+ * @param maxBackoff     the upper bound of a single wait
+ * @param multiplier     the growth factor of consecutive waits
+ * @param jitter         the fraction of each wait that is randomized, between {@code 0} and {@code 1}
+ */
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier, double jitter) {
+
+    /**
+     * Validates the policy.
+     */
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= initialBackoff <= maxBackoff");
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Multiplier must be at least 1");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1");
+        }
+    }
+
+    /**
+     * Creates a policy doubling the wait after each retry, with half of each wait randomized.
+     *
+     * @param maxAttempts    the maximum number of attempts, including the first one
+     * @param initialBackoff the wait before the first retry
+     * @param maxBackoff     the upper bound of a single wait
+     * @return exponential backoff policy
+     */
+    public static RetryPolicy exponential(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, 2.0, 0.5);
+    }
+
+    Duration backoff(int retry, double random) {
+        double base = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() * Math.pow(multiplier, retry - 1));
+        return Duration.ofNanos((long) (base * (1 - jitter * random)));
+    }
+}
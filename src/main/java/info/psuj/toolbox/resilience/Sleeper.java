@@ -0,0 +1,74 @@
+package info.psuj.toolbox.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Abstraction for pausing the current thread.
+ * Designed to improve testability by avoiding direct usage of {@link Thread#sleep(long)}.
+ *
+ * <p>For testing purposes, an implementation can advance a controllable clock instead of waiting:</p>
+ *
+ * <pre>{@code
+ * Sleeper sleeper = duration -> now.set(now.get().plus(duration));
+ * }</pre>
+ */
+@FunctionalInterface
+public interface Sleeper {
+
+    /**
+     * Pauses the current thread for the given duration.
+     *
+     * @param duration how long to pause
+     * @throws InterruptedException if the thread is interrupted while paused
+     */
+    void sleep(Duration duration) throws InterruptedException;
+
+    /**
+     * Waits until the given task completes or the timeout elapses, whichever comes first.
+     * <p>
+     * The default implementation sleeps for the whole timeout unless the task is already done,
+     * which keeps test sleepers deterministic. Sleepers backed by real time should return as soon
+     * as the task completes, as {@link #system()} does.
+     *
+     * @param task    the task to wait for
+     * @param timeout the maximum time to wait
+     * @return {@code true} if the task completed, {@code false} if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    default boolean await(Future<?> task, Duration timeout) throws InterruptedException {
+        if (!task.isDone()) {
+            sleep(timeout);
+        }
+        return task.isDone();
+    }
+
+    /**
+     * Returns a sleeper backed by {@link Thread#sleep(long, int)} and {@link Future#get(long, TimeUnit)}.
+     * @return the system sleeper
+     */
+    static Sleeper system() {
+        return new Sleeper() {
+            @Override
+            public void sleep(Duration duration) throws InterruptedException {
+                Thread.sleep(duration.toMillis(), duration.toNanosPart() % 1_000_000);
+            }
+
+            @Override
+            public boolean await(Future<?> task, Duration timeout) throws InterruptedException {
+                try {
+                    task.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+                    return true;
+                } catch (ExecutionException | CancellationException e) {
+                    return true;
+                } catch (TimeoutException e) {
+                    return false;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package info.psuj.toolbox.shared;
+
+import java.util.*;
+
+/**
+ * Decides how error messages are aggregated when many results are combined.
+ *
+ * <p>{@link #distinct()} keeps every distinct message as it is. {@link #summarized(int, int)}
+ * keeps at most a given number of distinct messages, each annotated with its number of
+ * occurrences and the positions of its first failing results. Occurrences of further messages
+ * are only counted, so memory stays bounded however many results fail.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * Result<List<Row>> imported = Results.combine(rows, ErrorAggregation.summarized(20, 5));
+ * // e.g. "Price must be positive (48211 occurrences, first at 3, 8, 15, 16, 42)"
+ * //      "1204 more errors omitted"
+ * }</pre>
+ */
+public final class ErrorAggregation {
+
+    private static final ErrorAggregation DISTINCT = new ErrorAggregation(false, Integer.MAX_VALUE, 0);
+
+    private final boolean summarize;
+    private final int maxErrors;
+    private final int maxPositions;
+
+    private ErrorAggregation(boolean summarize, int maxErrors, int maxPositions) {
+        this.summarize = summarize;
+        this.maxErrors = maxErrors;
+        this.maxPositions = maxPositions;
+    }
+
+    /**
+     * Returns an aggregation keeping every distinct error message.
+     *
+     * @return an aggregation without limits
+     */
+    public static ErrorAggregation distinct() {
+        return DISTINCT;
+    }
+
+    /**
+     * Returns an aggregation summarizing error messages within fixed bounds.
+     * <p>
+     * The first {@code maxErrors} distinct messages are kept, each with its occurrence count and
+     * up to {@code maxPositions} zero-based positions of the results that failed with it. Later
+     * messages are reported as a single count of omitted errors.
+     *
+     * @param maxErrors    the maximum number of distinct messages kept
+     * @param maxPositions the maximum number of positions recorded per message, or zero to record none
+     * @return a bounded aggregation
+     */
+    public static ErrorAggregation summarized(int maxErrors, int maxPositions) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("Maximum number of errors must be positive");
+        }
+        if (maxPositions < 0) {
+            throw new IllegalArgumentException("Maximum number of positions must not be negative");
+        }
+        return new ErrorAggregation(true, maxErrors, maxPositions);
+    }
+
+    Aggregator aggregator() {
+        return new Aggregator();
+    }
+
+    /**
+     * Collects the errors of failed results one by one.
+     */
+    class Aggregator {
+        private final Map<String, Tally> errors = new LinkedHashMap<>();
+        private long omitted;
+
+        void add(int position, Collection<String> messages) {
+            for (String message : messages) {
+                Tally tally = errors.get(message);
+                if (tally == null) {
+                    if (errors.size() == maxErrors) {
+                        omitted++;
+                        continue;
+                    }
+                    tally = new Tally(maxPositions);
+                    errors.put(message, tally);
+                }
+                tally.record(position);
+            }
+        }
+
+        boolean isEmpty() {
+            return errors.isEmpty();
+        }
+
+        Set<String> toSet() {
+            if (!summarize) {
+                return new LinkedHashSet<>(errors.keySet());
+            }
+            Set<String> summary = new LinkedHashSet<>();
+            errors.forEach((message, tally) -> summary.add(tally.describe(message)));
+            if (omitted > 0) {
+                summary.add(omitted + " more " + (omitted == 1 ? "error" : "errors") + " omitted");
+            }
+            return summary;
+        }
+    }
+
+    private static final class Tally {
+        private final int[] positions;
+        private int recorded;
+        private long occurrences;
+
+        private Tally(int maxPositions) {
+            this.positions = new int[maxPositions];
+        }
+
+        private void record(int position) {
+            occurrences++;
+            if (recorded < positions.length) {
+                positions[recorded++] = position;
+            }
+        }
+
+        private String describe(String message) {
+            StringBuilder description = new StringBuilder(message)
+                    .append(" (").append(occurrences).append(occurrences == 1 ? " occurrence" : " occurrences");
+            for (int i = 0; i < recorded; i++) {
+                description.append(i == 0 ? ", first at " : ", ").append(positions[i]);
+            }
+            return description.append(')').toString();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package info.psuj.toolbox.shared;
+
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Compacts domain events that supersede each other.
+ *
+ * <p>Each rule applies to events of a given type and groups them by a user-supplied key.
+ * Events sharing a key are merged into one, which keeps the position of the first event
+ * of its group. Events not matched by any rule are kept as they are, without duplicates.</p>
+ *
+ * <p>Usage:</p>
+ *
+ * <pre>{@code
+ * EventCoalescer coalescer = EventCoalescer.keepLast(PriceChanged.class, PriceChanged::productId)
+ *         .and(EventCoalescer.merge(StockCounted.class, StockCounted::warehouseId, StockCounted::plus));
+ *
+ * Result<List<Product>> combined = Results.combine(results, coalescer);
+ * }</pre>
+ */
+public class EventCoalescer {
+
+    private static final EventCoalescer NONE = new EventCoalescer(List.of());
+
+    private final List<Rule<?>> rules;
+
+    private EventCoalescer(List<Rule<?>> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Returns a coalescer that only removes duplicate events.
+     *
+     * @return a coalescer without rules
+     */
+    public static EventCoalescer none() {
+        return NONE;
+    }
+
+    /**
+     * Keeps only the latest event of the given type for each key.
+     *
+     * @param type the event type to coalesce
+     * @param key  function extracting the grouping key
+     * @param <E>  the event type
+     * @return a coalescer with a single rule
+     */
+    public static <E extends DomainEvent> EventCoalescer keepLast(Class<E> type, Function<? super E, ?> key) {
+        return merge(type, key, (previous, next) -> next);
+    }
+
+    /**
+     * Merges events of the given type that share a key.
+     *
+     * @param type   the event type to coalesce
+     * @param key    function extracting the grouping key
+     * @param merger function combining the accumulated event with the next one
+     * @param <E>    the event type
+     * @return a coalescer with a single rule
+     */
+    public static <E extends DomainEvent> EventCoalescer merge(Class<E> type, Function<? super E, ?> key, BinaryOperator<E> merger) {
+        return new EventCoalescer(List.of(new Rule<>(type, key, merger)));
+    }
+
+    /**
+     * Combines this coalescer with another one. For events matched by both, rules of this
+     * coalescer take precedence.
+     *
+     * @param other the coalescer to add
+     * @return a coalescer applying the rules of both
+     */
+    public EventCoalescer and(EventCoalescer other) {
+        List<Rule<?>> combined = new ArrayList<>(rules);
+        combined.addAll(other.rules);
+        return new EventCoalescer(List.copyOf(combined));
+    }
+
+    /**
+     * Coalesces the given events.
+     *
+     * @param events the events in emission order
+     * @return unmodifiable set of coalesced events
+     */
+    public Set<DomainEvent> coalesce(Collection<DomainEvent> events) {
+        Accumulator accumulator = accumulator();
+        accumulator.addAll(events);
+        return accumulator.toSet();
+    }
+
+    Accumulator accumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Collects events one by one, coalescing them as they arrive.
+     * <p>
+     * Without rules, events are only deduplicated, so they are kept in a plain set that is
+     * handed out as it is rather than copied.
+     */
+    class Accumulator {
+        private final Set<DomainEvent> distinct = rules.isEmpty() ? new LinkedHashSet<>() : null;
+        private final Map<Object, DomainEvent> events = rules.isEmpty() ? null : new LinkedHashMap<>();
+
+        void addAll(Collection<DomainEvent> newEvents) {
+            for (DomainEvent event : newEvents) {
+                add(event);
+            }
+        }
+
+        void add(DomainEvent event) {
+            if (distinct != null) {
+                distinct.add(event);
+                return;
+            }
+            for (int i = 0; i < rules.size(); i++) {
+                Rule<?> rule = rules.get(i);
+                if (rule.type.isInstance(event)) {
+                    events.merge(new GroupKey(i, rule.key(event)), event, rule::merge);
+                    return;
+                }
+            }
+            events.putIfAbsent(event, event);
+        }
+
+        /**
+         * Returns the collected events. Without rules, the returned set is a view of the
+         * accumulated one, so the accumulator must not be used afterwards.
+         */
+        Set<DomainEvent> toSet() {
+            if (distinct != null) {
+                return Collections.unmodifiableSet(distinct);
+            }
+            return Collections.unmodifiableSet(new LinkedHashSet<>(events.values()));
+        }
+    }
+
+    private record GroupKey(int rule, Object key) {
+    }
+
+    private static final class Rule<E extends DomainEvent> {
+        private final Class<E> type;
+        private final Function<? super E, ?> key;
+        private final BinaryOperator<E> merger;
+
+        private Rule(Class<E> type, Function<? super E, ?> key, BinaryOperator<E> merger) {
+            this.type = type;
+            this.key = key;
+            this.merger = merger;
+        }
+
+        private Object key(DomainEvent event) {
+            return key.apply(type.cast(event));
+        }
+
+        private DomainEvent merge(DomainEvent previous, DomainEvent next) {
+            return merger.apply(type.cast(previous), type.cast(next));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package info.psuj.toolbox.shared;
+
+import info.psuj.toolbox.time.TimeProvider;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache in front of a {@link Result}-returning function.
+ *
+ * <p>Successes and failures are kept for separate durations. Concurrent calls missing the
+ * same key wait for a single invocation of the function instead of invoking it themselves.</p>
+ *
+ * <p>Hits only read a {@link ConcurrentHashMap} and mark the entry as referenced, so they take
+ * no lock. Stores and evictions are serialized on a queue of entries in insertion order; when
+ * the cache is full, the queue is swept as a CLOCK, an approximation of LRU, giving referenced
+ * entries a second chance.</p>
+ *
+ * @see Results#memoize(Function, int, java.time.Duration, java.time.Duration, TimeProvider)
+ */
+class MemoizingFunction<K, V> implements Function<K, Result<V>> {
+
+    private final Function<K, Result<V>> function;
+    private final int maximumSize;
+    private final long successTtlMillis;
+    private final long failureTtlMillis;
+    private final TimeProvider timeProvider;
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final Deque<Entry<K, V>> queue = new ArrayDeque<>();
+    private final Map<K, Load<V>> loading = new ConcurrentHashMap<>();
+
+    MemoizingFunction(Function<K, Result<V>> function, int maximumSize, long successTtlMillis, long failureTtlMillis,
+                      TimeProvider timeProvider) {
+        this.function = function;
+        this.maximumSize = maximumSize;
+        this.successTtlMillis = successTtlMillis;
+        this.failureTtlMillis = failureTtlMillis;
+        this.timeProvider = timeProvider;
+    }
+
+    @Override
+    public Result<V> apply(K key) {
+        Result<V> cached = cached(key);
+        if (cached != null) {
+            return cached;
+        }
+        Load<V> load = new Load<>();
+        Load<V> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            if (inFlight.owner == Thread.currentThread()) {
+                throw new IllegalStateException("Memoized function called itself with key " + key);
+            }
+            return await(inFlight);
+        }
+        try {
+            // another caller may have stored the value between the lookup and the registration
+            Result<V> result = cached(key);
+            if (result == null) {
+                result = function.apply(key);
+                store(key, result);
+            }
+            load.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // also covers checked exceptions thrown sneakily, which would leave waiters blocked forever
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    private Result<V> cached(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= timeProvider.clock().millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        // skip the write when already set, so hot keys do not bounce the cache line between cores
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.result;
+    }
+
+    private void store(K key, Result<V> result) {
+        long ttlMillis = result.isSuccess() ? successTtlMillis : failureTtlMillis;
+        if (ttlMillis <= 0) {
+            return;
+        }
+        long now = timeProvider.clock().millis();
+        Entry<K, V> entry = new Entry<>(key, result, now + ttlMillis);
+        synchronized (queue) {
+            entries.put(key, entry);
+            queue.addLast(entry);
+            trim(now);
+        }
+    }
+
+    /**
+     * Evicts entries above the maximum size and drops queued entries that were replaced or expired.
+     */
+    private void trim(long now) {
+        while (entries.size() > maximumSize || queue.size() > 2 * maximumSize) {
+            Entry<K, V> entry = queue.pollFirst();
+            if (entries.get(entry.key) != entry) {
+                continue;
+            }
+            if (entries.size() <= maximumSize) {
+                queue.addLast(entry);
+                continue;
+            }
+            if (entry.referenced && entry.expiresAt > now) {
+                entry.referenced = false;
+                queue.addLast(entry);
+                continue;
+            }
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    private static <V> Result<V> await(CompletableFuture<Result<V>> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final Result<V> result;
+        private final long expiresAt;
+        private volatile boolean referenced;
+
+        private Entry(K key, Result<V> result, long expiresAt) {
+            this.key = key;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Pending invocation of the function, remembering the thread running it.
+     */
+    private static final class Load<V> extends CompletableFuture<Result<V>> {
+        private final Thread owner = Thread.currentThread();
+    }
+}
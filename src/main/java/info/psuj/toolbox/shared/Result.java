@@ -58,6 +58,18 @@ public class Result<T> {
         return new Result<>(true, entity, unmodifiableSet(new LinkedHashSet<>(events)), NO_ERRORS);
     }
 
+    /**
+     * Creates a successful result holding the given events as they are, without copying them.
+     *
+     * @param entity the main result value
+     * @param events unmodifiable set of domain events, no longer changed by the caller
+     * @param <T>    the type of result
+     * @return a successful Result
+     */
+    static <T> Result<T> successSharing(T entity, Set<DomainEvent> events) {
+        return new Result<>(true, entity, events, NO_ERRORS);
+    }
+
     /**
      * Creates a successful result without a value, containing a given set of domain events.
      *
@@ -171,6 +183,21 @@ public class Result<T> {
         return Result.failure(errorMessages);
     }
 
+    /**
+     * Compacts the domain events of this result using the given coalescer.
+     * <p>
+     * On failure, the same failure is returned.
+     *
+     * @param coalescer the coalescer applied to domain events
+     * @return result with the same entity and coalesced events
+     */
+    public Result<T> coalesceEvents(EventCoalescer coalescer) {
+        if (isFailure()) {
+            return this;
+        }
+        return new Result<>(true, entity, coalescer.coalesce(events), NO_ERRORS);
+    }
+
     @Override
     public String toString() {
         return "Result{" +
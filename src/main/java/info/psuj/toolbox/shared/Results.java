@@ -1,6 +1,10 @@
 package info.psuj.toolbox.shared;
 
+import info.psuj.toolbox.time.TimeProvider;
+
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Utility class for working with collections of {@link Result} objects.
@@ -20,24 +24,83 @@ public class Results {
      * @return combined result
      */
     public static <T> Result<List<T>> combine(Collection<Result<T>> results) {
-        List<String> errors = new ArrayList<>();
+        return combine(results, EventCoalescer.none());
+    }
+
+    /**
+     * Combines multiple {@link Result} objects into a single result, compacting their events.
+     *
+     * <p>Behaves like {@link #combine(Collection)}, except that domain events are passed through
+     * the given {@link EventCoalescer} as they are collected, so superseded events are never
+     * accumulated.
+     *
+     * @param results   the results to combine
+     * @param coalescer the coalescer applied to domain events
+     * @param <T>       the entity type
+     * @return combined result
+     */
+    public static <T> Result<List<T>> combine(Collection<Result<T>> results, EventCoalescer coalescer) {
+        return combine(results, coalescer, ErrorAggregation.distinct());
+    }
+
+    /**
+     * Combines multiple {@link Result} objects into a single result, aggregating errors as configured.
+     *
+     * <p>Behaves like {@link #combine(Collection)}, except that error messages are collected by the
+     * given {@link ErrorAggregation}. Use {@link ErrorAggregation#summarized(int, int)} to keep memory
+     * bounded when a large batch may fail on most of its elements.
+     *
+     * @param results     the results to combine
+     * @param aggregation the aggregation applied to error messages
+     * @param <T>         the entity type
+     * @return combined result
+     */
+    public static <T> Result<List<T>> combine(Collection<Result<T>> results, ErrorAggregation aggregation) {
+        return combine(results, EventCoalescer.none(), aggregation);
+    }
+
+    /**
+     * Combines multiple {@link Result} objects into a single result, compacting their events and
+     * aggregating errors as configured.
+     *
+     * <p>Once an error is found, entities and events collected so far are released, and those of the
+     * remaining results are no longer collected.
+     *
+     * @param results     the results to combine
+     * @param coalescer   the coalescer applied to domain events
+     * @param aggregation the aggregation applied to error messages
+     * @param <T>         the entity type
+     * @return combined result
+     * @see #combine(Collection, EventCoalescer)
+     * @see #combine(Collection, ErrorAggregation)
+     */
+    public static <T> Result<List<T>> combine(Collection<Result<T>> results, EventCoalescer coalescer,
+                                              ErrorAggregation aggregation) {
+        ErrorAggregation.Aggregator errors = aggregation.aggregator();
         List<T> entities = new ArrayList<>();
-        Set<DomainEvent> allEvents = new LinkedHashSet<>();
+        EventCoalescer.Accumulator allEvents = coalescer.accumulator();
+        boolean collecting = true;
+        int position = 0;
 
         for (Result<T> result : results) {
             if (result.isFailure()) {
-                errors.addAll(result.errors());
-            } else {
+                errors.add(position, result.errors());
+                if (collecting && !errors.isEmpty()) {
+                    // the combined result is a failure, so collected entities and events are no longer needed
+                    entities = new ArrayList<>();
+                    allEvents = coalescer.accumulator();
+                    collecting = false;
+                }
+            } else if (errors.isEmpty()) {
                 result.entity().ifPresent(entities::add);
                 allEvents.addAll(result.events());
             }
+            position++;
         }
 
-        if (!errors.isEmpty()) {
-            return Result.failure(new LinkedHashSet<>(errors));
-        }
-
-        return Result.success(entities, allEvents);
+        return errors.isEmpty()
+                ? Result.successSharing(entities, allEvents.toSet())
+                : Result.failure(errors.toSet());
     }
 
     /**
@@ -55,4 +118,56 @@ public class Results {
     public static <T> Result<List<T>> combine(Result<T>... results) {
         return combine(Arrays.asList(results));
     }
-}
+
+    /**
+     * Wraps a {@link Result}-returning function with a bounded cache.
+     *
+     * <p>Successful results are reused for {@code successTtl} and failed results for
+     * {@code failureTtl}, both measured with the given {@link TimeProvider}. A zero TTL
+     * disables caching of the corresponding outcome. When the cache is full, an entry that was
+     * not read recently is dropped. Cache hits take no lock.</p>
+     *
+     * <p>Concurrent calls missing the same key share a single invocation of the function.
+     * Exceptions thrown by the function are propagated to all of them and are not cached.
+     * If the function calls the memoized function with the key it is computing, an
+     * {@link IllegalStateException} is thrown instead of waiting for itself.</p>
+     *
+     * @param function     the function to memoize
+     * @param maximumSize  the maximum number of cached keys
+     * @param successTtl   how long successful results are reused
+     * @param failureTtl   how long failed results are reused
+     * @param timeProvider the clock used to expire entries
+     * @param <K>          the key type
+     * @param <V>          the entity type
+     * @return memoized function
+     */
+    public static <K, V> Function<K, Result<V>> memoize(Function<K, Result<V>> function, int maximumSize, Duration successTtl,
+                                                       Duration failureTtl, TimeProvider timeProvider) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (successTtl.isNegative() || failureTtl.isNegative()) {
+            throw new IllegalArgumentException("TTL must not be negative");
+        }
+        return new MemoizingFunction<>(function, maximumSize, successTtl.toMillis(), failureTtl.toMillis(), timeProvider);
+    }
+
+    /**
+     * Wraps a {@link Result}-returning function with a bounded cache of successful results.
+     * <p>
+     * Failed results are not cached.
+     *
+     * @param function     the function to memoize
+     * @param maximumSize  the maximum number of cached keys
+     * @param ttl          how long successful results are reused
+     * @param timeProvider the clock used to expire entries
+     * @param <K>          the key type
+     * @param <V>          the entity type
+     * @return memoized function
+     * @see #memoize(Function, int, Duration, Duration, TimeProvider)
+     */
+    public static <K, V> Function<K, Result<V>> memoize(Function<K, Result<V>> function, int maximumSize, Duration ttl,
+                                                       TimeProvider timeProvider) {
+        return memoize(function, maximumSize, ttl, Duration.ZERO, timeProvider);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package info.psuj.toolbox.cache;
+
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.AdjustableTimeProvider;
+import info.psuj.toolbox.time.FixedTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Test
+    void should_return_stored_result() {
+        // given
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+        UUID id = UUID.randomUUID();
+        Result<String> result = Result.success("processed");
+
+        // when
+        cache.put(id, result);
+
+        // then
+        assertThat(cache.get(id)).contains(result);
+        assertThat(cache.get(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void should_store_failed_results() {
+        // given
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+        UUID id = UUID.randomUUID();
+
+        // when
+        cache.put(id, Result.failure("rejected"));
+
+        // then
+        assertThat(cache.get(id)).hasValueSatisfying(result ->
+                assertThat(result.errors()).containsExactly("rejected")
+        );
+    }
+
+    @Test
+    void should_expire_entries_after_ttl() {
+        // given
+        AdjustableTimeProvider timeProvider = new AdjustableTimeProvider(NOW);
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, Duration.ofMinutes(1), timeProvider);
+        UUID id = UUID.randomUUID();
+        cache.put(id, Result.success("processed"));
+
+        // when
+        timeProvider.set(NOW.plusSeconds(59));
+        boolean presentBeforeTtl = cache.get(id).isPresent();
+        timeProvider.set(NOW.plusSeconds(60));
+        boolean presentAfterTtl = cache.get(id).isPresent();
+
+        // then
+        assertThat(presentBeforeTtl).isTrue();
+        assertThat(presentAfterTtl).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void should_keep_first_result_on_put_if_absent() {
+        // given
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+        UUID id = UUID.randomUUID();
+
+        // when
+        var first = cache.putIfAbsent(id, Result.success("first"));
+        var second = cache.putIfAbsent(id, Result.success("second"));
+
+        // then
+        assertThat(first).isEmpty();
+        assertThat(second).contains(Result.success("first"));
+        assertThat(cache.get(id)).contains(Result.success("first"));
+    }
+
+    @Test
+    void should_replace_result_on_put() {
+        // given
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+        UUID id = UUID.randomUUID();
+        cache.put(id, Result.success("first"));
+
+        // when
+        cache.put(id, Result.success("second"));
+
+        // then
+        assertThat(cache.get(id)).contains(Result.success("second"));
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_remove_invalidated_entry() {
+        // given
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+        UUID id = UUID.randomUUID();
+        cache.put(id, Result.success("processed"));
+
+        // when
+        cache.invalidate(id);
+
+        // then
+        assertThat(cache.get(id)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void should_not_exceed_maximum_size() {
+        // given
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+        List<UUID> ids = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            cache.put(id, Result.success(i));
+        }
+
+        // then
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        for (int i = 0; i < ids.size(); i++) {
+            int expected = i;
+            cache.get(ids.get(i)).ifPresent(result -> assertThat(result.entity()).contains(expected));
+        }
+    }
+
+    @Test
+    void should_not_exceed_maximum_size_when_striped() {
+        // given
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(4_096, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+        List<UUID> ids = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 20_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            cache.put(id, Result.success(i));
+        }
+
+        // then
+        assertThat(cache.size()).isEqualTo(4_096);
+        assertThat(ids).filteredOn(id -> cache.get(id).isPresent()).hasSize(4_096);
+    }
+
+    @Test
+    void should_keep_every_entry_up_to_maximum_size() {
+        for (int maximumSize : new int[]{20, 100, 5_000}) {
+            // given
+            IdempotencyCache<Integer> cache = new IdempotencyCache<>(maximumSize, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+            List<UUID> ids = new ArrayList<>();
+
+            // when
+            for (int i = 0; i < maximumSize; i++) {
+                UUID id = UUID.randomUUID();
+                ids.add(id);
+                cache.put(id, Result.success(i));
+            }
+
+            // then
+            assertThat(ids).allSatisfy(id -> assertThat(cache.get(id)).isPresent());
+        }
+    }
+
+    @Test
+    void should_evict_previous_entry_when_full() {
+        // given
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(1, Duration.ofMinutes(1), new FixedTimeProvider(NOW));
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        cache.put(first, Result.success(1));
+
+        // when
+        cache.put(second, Result.success(2));
+
+        // then
+        assertThat(cache.get(first)).isEmpty();
+        assertThat(cache.get(second)).contains(Result.success(2));
+    }
+
+    @Test
+    void should_reject_invalid_configuration() {
+        // expect
+        assertThatThrownBy(() -> new IdempotencyCache<>(0, Duration.ofMinutes(1), new FixedTimeProvider(NOW)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IdempotencyCache<>(10, Duration.ZERO, new FixedTimeProvider(NOW)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
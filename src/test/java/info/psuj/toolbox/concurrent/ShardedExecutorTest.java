@@ -0,0 +1,209 @@
+package info.psuj.toolbox.concurrent;
+
+import info.psuj.toolbox.shared.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedExecutorTest {
+
+    private final ShardedExecutor executor = new ShardedExecutor(4, 1024, 8);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void should_run_commands_of_an_aggregate_in_submission_order_on_one_thread() {
+        // given
+        UUID aggregateId = UUID.randomUUID();
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // when
+        List<CompletableFuture<Result<Integer>>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int sequence = i;
+            futures.add(executor.submit(aggregateId, () -> {
+                executed.add(sequence);
+                threads.add(Thread.currentThread().getName());
+                return Result.success(sequence);
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(executed).isSorted().hasSize(1000);
+        assertThat(threads).hasSize(1);
+        assertThat(futures.get(999).join().entity()).contains(999);
+    }
+
+    @Test
+    void should_spread_aggregates_across_lanes() {
+        // given
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // when
+        List<CompletableFuture<Result<Void>>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(executor.submit(UUID.randomUUID(), () -> {
+                threads.add(Thread.currentThread().getName());
+                return Result.success();
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(threads).hasSize(4);
+    }
+
+    @Test
+    void should_preserve_order_across_resize() {
+        // given
+        UUID aggregateId = UUID.randomUUID();
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 100; i++) {
+            int sequence = i;
+            executor.submit(aggregateId, () -> {
+                executed.add(sequence);
+                return Result.success();
+            });
+        }
+
+        // when
+        executor.resize(7);
+        CompletableFuture<Result<Void>> last = executor.submit(aggregateId, () -> {
+            executed.add(100);
+            return Result.success();
+        });
+        last.join();
+
+        // then
+        assertThat(executor.lanes()).isEqualTo(7);
+        assertThat(executed).isSorted().hasSize(101);
+    }
+
+    @Test
+    void should_complete_exceptionally_when_command_throws() {
+        // given
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        // when
+        CompletableFuture<Result<Void>> future = executor.submit(UUID.randomUUID(), () -> {
+            throw failure;
+        });
+
+        // then
+        assertThatThrownBy(future::join).hasCause(failure);
+    }
+
+    @Test
+    void should_reject_command_when_lane_queue_is_full() {
+        // given
+        ShardedExecutor single = new ShardedExecutor(1, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        single.submit(UUID.randomUUID(), () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return Result.success();
+        });
+        awaitQuietly(started);
+        single.submit(UUID.randomUUID(), Result::success);
+
+        // expect
+        assertThatThrownBy(() -> single.submit(UUID.randomUUID(), Result::success))
+                .isInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+        single.close();
+    }
+
+    @Test
+    void should_reject_instead_of_deadlocking_when_command_fills_its_own_lane() {
+        // given
+        ShardedExecutor single = new ShardedExecutor(1, 2, 1);
+        UUID aggregateId = UUID.randomUUID();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        Result<Void> result = single.submit(aggregateId, () -> {
+            for (int i = 0; i < 3; i++) {
+                try {
+                    single.submit(aggregateId, Result::success);
+                } catch (RejectedExecutionException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+            return Result.success();
+        }).orTimeout(5, TimeUnit.SECONDS).join();
+        single.close();
+
+        // then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(rejected).hasValue(1);
+    }
+
+    @Test
+    void should_reject_resize_and_close_from_a_command() {
+        // given
+        UUID aggregateId = UUID.randomUUID();
+
+        // when
+        CompletableFuture<Result<Void>> resized = executor.submit(aggregateId, () -> {
+            executor.resize(2);
+            return Result.success();
+        });
+        CompletableFuture<Result<Void>> closed = executor.submit(aggregateId, () -> {
+            executor.close();
+            return Result.success();
+        });
+
+        // then
+        assertThatThrownBy(() -> resized.orTimeout(5, TimeUnit.SECONDS).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> closed.orTimeout(5, TimeUnit.SECONDS).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(executor.lanes()).isEqualTo(4);
+    }
+
+    @Test
+    void should_reject_commands_after_close() {
+        // given
+        executor.close();
+
+        // expect
+        assertThatThrownBy(() -> executor.submit(UUID.randomUUID(), Result::success))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void should_reject_invalid_arguments() {
+        // expect
+        assertThatThrownBy(() -> new ShardedExecutor(0, 16, 8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShardedExecutor(1, 0, 8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> executor.resize(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package info.psuj.toolbox.event;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventDispatcherTest {
+
+    interface AccountEvent extends DomainEvent {}
+
+    record AccountOpened(String id) implements AccountEvent {}
+
+    record AccountClosed(String id) implements AccountEvent {}
+
+    record UserCreated(String id) implements DomainEvent {}
+
+    @Test
+    void should_dispatch_event_to_handlers_of_its_type() {
+        // given
+        EventDispatcher dispatcher = new EventDispatcher();
+        List<String> handled = new ArrayList<>();
+        dispatcher.subscribe(AccountOpened.class, event -> handled.add("opened " + event.id()));
+        dispatcher.subscribe(UserCreated.class, event -> handled.add("user " + event.id()));
+
+        // when
+        dispatcher.dispatch(new AccountOpened("1"));
+
+        // then
+        assertThat(handled).containsExactly("opened 1");
+    }
+
+    @Test
+    void should_dispatch_event_to_handlers_of_its_supertypes_in_subscription_order() {
+        // given
+        EventDispatcher dispatcher = new EventDispatcher();
+        List<String> handled = new ArrayList<>();
+        dispatcher.subscribe(DomainEvent.class, event -> handled.add("any"));
+        dispatcher.subscribe(AccountOpened.class, event -> handled.add("opened"));
+        dispatcher.subscribe(AccountEvent.class, event -> handled.add("account"));
+
+        // when
+        dispatcher.dispatch(new AccountOpened("1"));
+        dispatcher.dispatch(new AccountClosed("1"));
+
+        // then
+        assertThat(handled).containsExactly("any", "opened", "account", "any", "account");
+    }
+
+    @Test
+    void should_dispatch_all_events_of_result() {
+        // given
+        EventDispatcher dispatcher = new EventDispatcher();
+        List<DomainEvent> handled = new ArrayList<>();
+        dispatcher.subscribe(DomainEvent.class, handled::add);
+
+        // when
+        dispatcher.dispatch(Result.success("ok", new AccountOpened("1"), new UserCreated("2")));
+
+        // then
+        assertThat(handled).containsExactly(new AccountOpened("1"), new UserCreated("2"));
+    }
+
+    @Test
+    void should_include_handlers_subscribed_after_first_dispatch() {
+        // given
+        EventDispatcher dispatcher = new EventDispatcher();
+        List<String> handled = new ArrayList<>();
+        dispatcher.subscribe(AccountOpened.class, event -> handled.add("first"));
+        dispatcher.dispatch(new AccountOpened("1"));
+
+        // when
+        dispatcher.subscribe(AccountEvent.class, event -> handled.add("second"));
+        dispatcher.dispatch(new AccountOpened("2"));
+
+        // then
+        assertThat(handled).containsExactly("first", "first", "second");
+    }
+
+    @Test
+    void should_ignore_events_without_handlers() {
+        // given
+        EventDispatcher dispatcher = new EventDispatcher();
+        List<String> handled = new ArrayList<>();
+        dispatcher.subscribe(AccountOpened.class, event -> handled.add("opened"));
+
+        // when
+        dispatcher.dispatch(new UserCreated("1"));
+
+        // then
+        assertThat(handled).isEmpty();
+    }
+
+    @Test
+    void should_propagate_handler_exceptions() {
+        // given
+        EventDispatcher dispatcher = new EventDispatcher();
+        dispatcher.subscribe(AccountOpened.class, event -> {
+            throw new IllegalStateException("handler failed");
+        });
+
+        // expect
+        assertThatThrownBy(() -> dispatcher.dispatch(new AccountOpened("1")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("handler failed");
+    }
+}
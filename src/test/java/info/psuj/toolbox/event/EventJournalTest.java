@@ -0,0 +1,308 @@
+package info.psuj.toolbox.event;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.AdjustableTimeProvider;
+import info.psuj.toolbox.time.FixedTimeProvider;
+import info.psuj.toolbox.time.TimeProvider;
+import info.psuj.toolbox.uuid.FixedUuidProvider;
+import info.psuj.toolbox.uuid.SystemUuidProvider;
+import info.psuj.toolbox.uuid.UuidProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class EventJournalTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_append_and_replay_events_of_successful_results() {
+        // given
+        UUID firstId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        UUID secondId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+        try (EventJournal journal = journal(1024, new FixedTimeProvider(NOW), new FixedUuidProvider(List.of(firstId, secondId)))) {
+            // when
+            long lastOffset = journal.appendAndCommit(Result.success("ok", new TestEvent("1"), new TestEvent("2")));
+            List<JournalEntry> entries = replay(journal, 0);
+
+            // then
+            assertThat(lastOffset).isEqualTo(1);
+            assertThat(entries).containsExactly(
+                    new JournalEntry(0, firstId, NOW, new TestEvent("1")),
+                    new JournalEntry(1, secondId, NOW, new TestEvent("2"))
+            );
+        }
+    }
+
+    @Test
+    void should_ignore_failed_results() {
+        try (EventJournal journal = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            // when
+            long lastOffset = journal.appendAndCommit(Result.failure("error"));
+
+            // then
+            assertThat(lastOffset).isEqualTo(-1);
+            assertThat(journal.nextOffset()).isZero();
+            assertThat(replay(journal, 0)).isEmpty();
+        }
+    }
+
+    @Test
+    void should_replay_from_given_offset_across_segments() throws IOException {
+        try (EventJournal journal = journal(128, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            // given
+            for (int i = 0; i < 10; i++) {
+                journal.append(Result.success(new TestEvent(String.valueOf(i))));
+            }
+            journal.commit();
+
+            // when
+            List<JournalEntry> entries = replay(journal, 7);
+
+            // then
+            assertThat(segmentCount()).isGreaterThan(1);
+            assertThat(entries).extracting(JournalEntry::event)
+                    .containsExactly(new TestEvent("7"), new TestEvent("8"), new TestEvent("9"));
+        }
+    }
+
+    @Test
+    void should_roll_segment_when_it_exceeds_segment_duration() throws IOException {
+        // given
+        AdjustableTimeProvider timeProvider = new AdjustableTimeProvider(NOW);
+
+        try (EventJournal journal = journal(1024, timeProvider, new SystemUuidProvider())) {
+            journal.append(Result.success(new TestEvent("1")));
+
+            // when
+            timeProvider.set(NOW.plus(Duration.ofMinutes(1)));
+            journal.append(Result.success(new TestEvent("2")));
+
+            // then
+            assertThat(segmentCount()).isEqualTo(2);
+            assertThat(replay(journal, 0)).extracting(JournalEntry::timestamp)
+                    .containsExactly(NOW, NOW.plus(Duration.ofMinutes(1)));
+        }
+    }
+
+    @Test
+    void should_continue_offsets_after_reopening() {
+        // given
+        try (EventJournal journal = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            journal.appendAndCommit(Result.success(new TestEvent("1"), new TestEvent("2")));
+        }
+
+        // when
+        try (EventJournal reopened = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            reopened.appendAndCommit(Result.success(new TestEvent("3")));
+
+            // then
+            assertThat(replay(reopened, 0)).extracting(JournalEntry::offset, JournalEntry::event)
+                    .containsExactly(
+                            tuple(0L, new TestEvent("1")),
+                            tuple(1L, new TestEvent("2")),
+                            tuple(2L, new TestEvent("3"))
+                    );
+        }
+    }
+
+    @Test
+    void should_make_every_committed_offset_replayable_when_appending_concurrently() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        // when
+        try (EventJournal journal = journal(4096, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            for (int thread = 0; thread < 8; thread++) {
+                String name = String.valueOf(thread);
+                futures.add(executor.submit(() -> {
+                    List<Long> offsets = new ArrayList<>();
+                    for (int i = 0; i < 50; i++) {
+                        offsets.add(journal.appendAndCommit(Result.success(new TestEvent(name + "-" + i))));
+                    }
+                    return offsets;
+                }));
+            }
+            for (Future<List<Long>> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        }
+        executor.shutdown();
+
+        // then
+        List<Long> committed = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            committed.addAll(future.get());
+        }
+        try (EventJournal reopened = journal(4096, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            assertThat(reopened.nextOffset()).isEqualTo(400);
+            assertThat(replay(reopened, 0)).extracting(JournalEntry::offset)
+                    .containsExactlyInAnyOrderElementsOf(committed);
+        }
+    }
+
+    @Test
+    void should_stop_replay_at_corrupted_record() throws IOException {
+        // given
+        try (EventJournal journal = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            journal.appendAndCommit(Result.success(new TestEvent("1"), new TestEvent("2")));
+        }
+        corruptLastByteOfSecondRecord();
+
+        // when
+        try (EventJournal reopened = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+
+            // then
+            assertThat(reopened.nextOffset()).isEqualTo(1);
+            assertThat(replay(reopened, 0)).extracting(JournalEntry::event)
+                    .containsExactly(new TestEvent("1"));
+        }
+    }
+
+    @Test
+    void should_not_resurrect_records_after_corrupted_one() throws IOException {
+        // given
+        try (EventJournal journal = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            journal.appendAndCommit(Result.success(new TestEvent("A"), new TestEvent("B"), new TestEvent("C")));
+        }
+        corruptLastByteOfSecondRecord();
+
+        // when
+        try (EventJournal reopened = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            reopened.appendAndCommit(Result.success(new TestEvent("D")));
+        }
+
+        // then
+        try (EventJournal reopened = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            assertThat(reopened.nextOffset()).isEqualTo(2);
+            assertThat(replay(reopened, 0)).extracting(JournalEntry::offset, JournalEntry::event)
+                    .containsExactly(
+                            tuple(0L, new TestEvent("A")),
+                            tuple(1L, new TestEvent("D"))
+                    );
+        }
+    }
+
+    @Test
+    void should_keep_segment_age_across_reopening() throws IOException {
+        // given
+        AdjustableTimeProvider timeProvider = new AdjustableTimeProvider(NOW);
+        try (EventJournal journal = journal(1024, timeProvider, new SystemUuidProvider())) {
+            journal.appendAndCommit(Result.success(new TestEvent("1")));
+        }
+        timeProvider.set(NOW.plus(Duration.ofSeconds(20)));
+
+        try (EventJournal reopened = journal(1024, timeProvider, new SystemUuidProvider())) {
+            // when
+            timeProvider.set(NOW.plus(Duration.ofSeconds(40)));
+            reopened.append(Result.success(new TestEvent("2")));
+
+            // then
+            assertThat(segmentCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void should_append_nothing_when_any_event_cannot_be_encoded() {
+        try (EventJournal journal = journal(64, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            // when
+            assertThatThrownBy(() -> journal.append(Result.success(new TestEvent("1"), new TestEvent("x".repeat(100)))))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            // then
+            assertThat(journal.nextOffset()).isZero();
+            assertThat(replay(journal, 0)).isEmpty();
+        }
+    }
+
+    @Test
+    void should_reject_event_larger_than_segment() {
+        try (EventJournal journal = journal(64, new FixedTimeProvider(NOW), new SystemUuidProvider())) {
+            // expect
+            assertThatThrownBy(() -> journal.append(Result.success(new TestEvent("x".repeat(100)))))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void should_reject_appends_after_close() {
+        // given
+        EventJournal journal = journal(1024, new FixedTimeProvider(NOW), new SystemUuidProvider());
+
+        // when
+        journal.close();
+
+        // then
+        assertThatThrownBy(() -> journal.append(Result.success(new TestEvent("1"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private EventJournal journal(int segmentSize, TimeProvider timeProvider, UuidProvider uuidProvider) {
+        return new EventJournal(directory, segmentSize, Duration.ofSeconds(30), new TestEventCodec(), timeProvider, uuidProvider);
+    }
+
+    private static List<JournalEntry> replay(EventJournal journal, long fromOffset) {
+        List<JournalEntry> entries = new ArrayList<>();
+        journal.replay(fromOffset, entries::add);
+        return entries;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private void corruptLastByteOfSecondRecord() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(String.format("%020d.journal", 0)), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            int firstLength = length.flip().getInt();
+            length.clear();
+            channel.read(length, firstLength);
+            int secondLength = length.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[]{'!'}), firstLength + secondLength - 1);
+        }
+    }
+
+    record TestEvent(String value) implements DomainEvent {}
+
+    static class TestEventCodec implements EventCodec {
+        @Override
+        public byte[] encode(DomainEvent event) {
+            return ((TestEvent) event).value().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public DomainEvent decode(byte[] payload) {
+            return new TestEvent(new String(payload, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package info.psuj.toolbox.event;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.AdjustableTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class WindowAggregatorTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:10Z");
+
+    record Sale(String store, long amount, Instant at) implements DomainEvent {}
+
+    record Refund(String store) implements DomainEvent {}
+
+    private final AdjustableTimeProvider timeProvider = new AdjustableTimeProvider(NOW);
+    private final List<WindowResult<String>> emitted = new ArrayList<>();
+
+    @Test
+    void should_reduce_values_per_key_in_processing_time_window() {
+        // given
+        WindowAggregator<Sale, String> aggregator = WindowAggregator.processingTime(
+                Sale.class, WindowSpec.tumbling(Duration.ofMinutes(1)), Sale::store, Sale::amount, Long::sum,
+                timeProvider, emitted::add);
+
+        // when
+        aggregator.accept(Result.success(new Sale("A", 5, null), new Refund("A"), new Sale("B", 1, null)));
+        aggregator.accept(new Sale("A", 7, null));
+        timeProvider.set(Instant.parse("2025-01-01T00:01:00Z"));
+        aggregator.advance();
+
+        // then
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        Instant end = Instant.parse("2025-01-01T00:01:00Z");
+        assertThat(emitted).containsExactly(
+                new WindowResult<>(start, end, "A", 12),
+                new WindowResult<>(start, end, "B", 1)
+        );
+    }
+
+    @Test
+    void should_keep_window_open_until_clock_passes_its_end() {
+        // given
+        WindowAggregator<Sale, String> aggregator = WindowAggregator.processingTime(
+                Sale.class, WindowSpec.tumbling(Duration.ofMinutes(1)), Sale::store, Sale::amount, Long::sum,
+                timeProvider, emitted::add);
+        aggregator.accept(new Sale("A", 5, null));
+
+        // when
+        timeProvider.set(Instant.parse("2025-01-01T00:00:59Z"));
+        aggregator.advance();
+
+        // then
+        assertThat(emitted).isEmpty();
+    }
+
+    @Test
+    void should_assign_event_to_every_overlapping_sliding_window() {
+        // given
+        WindowAggregator<Sale, String> aggregator = WindowAggregator.eventTime(
+                Sale.class, WindowSpec.sliding(Duration.ofSeconds(30), Duration.ofSeconds(10)), Sale::store,
+                Sale::amount, Long::sum, Sale::at, emitted::add);
+
+        // when
+        aggregator.accept(new Sale("A", 1, Instant.ofEpochSecond(25)));
+        aggregator.accept(new Sale("A", 2, Instant.ofEpochSecond(35)));
+        aggregator.flush();
+
+        // then
+        assertThat(emitted).extracting(WindowResult::start, WindowResult::value).containsExactly(
+                tuple(Instant.ofEpochSecond(0), 1L),
+                tuple(Instant.ofEpochSecond(10), 3L),
+                tuple(Instant.ofEpochSecond(20), 3L),
+                tuple(Instant.ofEpochSecond(30), 2L)
+        );
+    }
+
+    @Test
+    void should_close_event_time_windows_by_watermark_and_count_late_events() {
+        // given
+        WindowAggregator<Sale, String> aggregator = WindowAggregator.eventTime(
+                Sale.class, WindowSpec.tumbling(Duration.ofSeconds(10)).withAllowedLateness(Duration.ofSeconds(5)),
+                Sale::store, Sale::amount, Long::max, Sale::at, emitted::add);
+
+        // when
+        aggregator.accept(new Sale("A", 3, Instant.ofEpochSecond(8)));
+        aggregator.accept(new Sale("A", 9, Instant.ofEpochSecond(14)));
+        aggregator.accept(new Sale("A", 4, Instant.ofEpochSecond(2)));
+        aggregator.accept(new Sale("A", 1, Instant.ofEpochSecond(16)));
+        aggregator.accept(new Sale("A", 6, Instant.ofEpochSecond(1)));
+
+        // then
+        assertThat(emitted).containsExactly(
+                new WindowResult<>(Instant.ofEpochSecond(0), Instant.ofEpochSecond(10), "A", 4)
+        );
+        assertThat(aggregator.lateEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void should_reuse_state_across_many_windows_and_keys() {
+        // given
+        List<Long> totals = new ArrayList<>();
+        WindowAggregator<Sale, String> aggregator = WindowAggregator.eventTime(
+                Sale.class, WindowSpec.tumbling(Duration.ofSeconds(1)), Sale::store, Sale::amount, Long::sum,
+                Sale::at, result -> totals.add(result.value()));
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            aggregator.accept(new Sale("store-" + i % 100, 1, Instant.ofEpochMilli(i)));
+        }
+        aggregator.flush();
+
+        // then
+        assertThat(totals).hasSize(10_000).containsOnly(10L);
+    }
+}
@@ -0,0 +1,58 @@
+package info.psuj.toolbox.jfr;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RecordedResultsTest {
+
+    record TestEvent(String value) implements DomainEvent {}
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_return_result_and_record_outcome() throws IOException {
+        // given
+        Result<String> success = Result.success("ok", new TestEvent("1"), new TestEvent("2"));
+        Result<String> failure = Result.failure("error A", "error B");
+        Result<String> firstReturned;
+        Result<String> secondReturned;
+
+        // when
+        try (Recording recording = new Recording()) {
+            recording.enable(ResultOutcomeEvent.class);
+            recording.start();
+            firstReturned = RecordedResults.call("create", () -> success);
+            secondReturned = RecordedResults.call("update", () -> failure);
+            recording.stop();
+            recording.dump(directory.resolve("recording.jfr"));
+        }
+
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(directory.resolve("recording.jfr"));
+        assertThat(firstReturned).isSameAs(success);
+        assertThat(secondReturned).isSameAs(failure);
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("info.psuj.toolbox.ResultOutcome"))
+                .extracting(
+                        event -> event.getString("operation"),
+                        event -> event.getBoolean("success"),
+                        event -> event.getInt("eventCount"),
+                        event -> event.getInt("errorCount"))
+                .containsExactly(
+                        tuple("create", true, 2, 0),
+                        tuple("update", false, 0, 2)
+                );
+    }
+}
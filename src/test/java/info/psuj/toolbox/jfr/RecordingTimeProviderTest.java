@@ -0,0 +1,69 @@
+package info.psuj.toolbox.jfr;
+
+import info.psuj.toolbox.time.AdjustableTimeProvider;
+import info.psuj.toolbox.time.TimeProvider;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordingTimeProviderTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_record_backward_jump_beyond_tolerance() throws IOException {
+        // given
+        AdjustableTimeProvider timeProvider = new AdjustableTimeProvider(NOW);
+        TimeProvider provider = new RecordingTimeProvider(timeProvider, Duration.ofMillis(10));
+        Instant observed;
+
+        // when
+        try (Recording recording = new Recording()) {
+            recording.enable(ClockAnomalyEvent.class);
+            recording.start();
+            provider.now();
+            timeProvider.set(NOW.minusMillis(5));
+            provider.now();
+            timeProvider.set(NOW.minusSeconds(1));
+            observed = provider.now();
+            recording.stop();
+            recording.dump(directory.resolve("recording.jfr"));
+        }
+
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(directory.resolve("recording.jfr"));
+        assertThat(observed).isEqualTo(NOW.minusSeconds(1));
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("info.psuj.toolbox.ClockAnomaly"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getInstant("previous")).isEqualTo(NOW);
+                    assertThat(event.getInstant("current")).isEqualTo(NOW.minusSeconds(1));
+                    assertThat(event.getDuration("backwardJump")).isEqualTo(Duration.ofSeconds(1));
+                });
+    }
+
+    @Test
+    void should_return_time_of_delegate() {
+        // given
+        TimeProvider provider = new RecordingTimeProvider(() -> Clock.fixed(NOW, ZoneOffset.UTC), Duration.ZERO);
+
+        // expect
+        assertThat(provider.now()).isEqualTo(NOW);
+        assertThat(provider.clock().getZone()).isEqualTo(ZoneOffset.UTC);
+    }
+}
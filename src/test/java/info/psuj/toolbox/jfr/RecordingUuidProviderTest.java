@@ -0,0 +1,64 @@
+package info.psuj.toolbox.jfr;
+
+import info.psuj.toolbox.uuid.FixedUuidProvider;
+import info.psuj.toolbox.uuid.UuidProvider;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordingUuidProviderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_return_uuid_of_delegate_and_record_generation() throws IOException {
+        // given
+        UUID expected = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        UuidProvider provider = new RecordingUuidProvider(new FixedUuidProvider(List.of(expected)));
+        UUID generated;
+
+        // when
+        try (Recording recording = new Recording()) {
+            recording.enable(UuidGenerationEvent.class);
+            recording.start();
+            generated = provider.randomUuid();
+            recording.stop();
+            recording.dump(directory.resolve("recording.jfr"));
+        }
+
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(directory.resolve("recording.jfr"));
+        assertThat(generated).isEqualTo(expected);
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("info.psuj.toolbox.UuidGeneration"))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getString("provider")).isEqualTo(FixedUuidProvider.class.getName()));
+    }
+
+    @Test
+    void should_not_record_generation_when_event_is_disabled() throws IOException {
+        // given
+        UuidProvider provider = new RecordingUuidProvider(new FixedUuidProvider(List.of()));
+
+        // when
+        try (Recording recording = new Recording()) {
+            recording.start();
+            provider.randomUuid();
+            recording.stop();
+            recording.dump(directory.resolve("recording.jfr"));
+        }
+
+        // then
+        assertThat(RecordingFile.readAllEvents(directory.resolve("recording.jfr")))
+                .noneMatch(event -> event.getEventType().getName().equals("info.psuj.toolbox.UuidGeneration"));
+    }
+}
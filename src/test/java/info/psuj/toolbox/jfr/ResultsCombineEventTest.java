@@ -0,0 +1,53 @@
+package info.psuj.toolbox.jfr;
+
+import info.psuj.toolbox.shared.DomainEvent;
+import info.psuj.toolbox.shared.Result;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultsCombineEventTest {
+
+    record TestEvent(String value) implements DomainEvent {}
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_record_batch_statistics_of_recorded_combine() throws IOException {
+        // when
+        try (Recording recording = new Recording()) {
+            recording.enable(ResultsCombineEvent.class);
+            recording.start();
+            RecordedResults.combine(List.of(Result.success("One", new TestEvent("1")), Result.success("Two", new TestEvent("2"))));
+            RecordedResults.combine(List.of(Result.success("One"), Result.failure("error A"), Result.failure("error B")));
+            recording.stop();
+            recording.dump(directory.resolve("recording.jfr"));
+        }
+
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(directory.resolve("recording.jfr"));
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("info.psuj.toolbox.ResultsCombine"))
+                .satisfiesExactly(
+                        success -> {
+                            assertThat(success.getInt("batchSize")).isEqualTo(2);
+                            assertThat(success.getInt("failureCount")).isZero();
+                            assertThat(success.getInt("eventCount")).isEqualTo(2);
+                            assertThat(success.getInt("errorCount")).isZero();
+                        },
+                        failure -> {
+                            assertThat(failure.getInt("batchSize")).isEqualTo(3);
+                            assertThat(failure.getInt("failureCount")).isEqualTo(2);
+                            assertThat(failure.getInt("eventCount")).isZero();
+                            assertThat(failure.getInt("errorCount")).isEqualTo(2);
+                        });
+    }
+}
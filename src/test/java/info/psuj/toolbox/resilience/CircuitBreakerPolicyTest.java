@@ -0,0 +1,27 @@
+package info.psuj.toolbox.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerPolicyTest {
+
+    @Test
+    void should_reject_invalid_policy() {
+        // expect
+        assertThatThrownBy(() -> new CircuitBreakerPolicy(0, 1, 0.5, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CircuitBreakerPolicy(1 << 21, 1, 0.5, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CircuitBreakerPolicy(10, 11, 0.5, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CircuitBreakerPolicy(10, 5, 0, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CircuitBreakerPolicy(10, 5, 0.5, Duration.ofSeconds(-1), 0.5, Duration.ofSeconds(1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CircuitBreakerPolicy(10, 5, 0.5, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
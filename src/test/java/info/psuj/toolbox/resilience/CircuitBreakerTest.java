@@ -0,0 +1,257 @@
+package info.psuj.toolbox.resilience;
+
+import info.psuj.toolbox.resilience.CircuitBreaker.State;
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.AdjustableTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private static final CircuitBreakerPolicy POLICY =
+            new CircuitBreakerPolicy(10, 4, 0.5, Duration.ofSeconds(1), 0.8, Duration.ofSeconds(30), 2);
+
+    private final AdjustableTimeProvider timeProvider = new AdjustableTimeProvider(Instant.parse("2025-01-01T12:00:00Z"));
+
+    @Test
+    void should_pass_calls_through_while_closed() {
+        // given
+        CircuitBreaker breaker = new CircuitBreaker(POLICY, timeProvider);
+
+        // when
+        Result<String> result = breaker.call(() -> Result.success("ok"));
+
+        // then
+        assertThat(result.entity()).contains("ok");
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void should_open_when_failure_rate_reaches_threshold() {
+        // given
+        CircuitBreaker breaker = new CircuitBreaker(POLICY, timeProvider);
+        AtomicInteger calls = new AtomicInteger();
+        recordSuccesses(breaker, 3);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            breaker.call(() -> Result.failure("unavailable"));
+        }
+        Result<String> rejected = breaker.call(() -> Result.success("call " + calls.incrementAndGet()));
+
+        // then
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(rejected.errors()).containsExactly(CircuitBreaker.OPEN_ERROR);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void should_not_open_before_minimum_calls() {
+        // given
+        CircuitBreaker breaker = new CircuitBreaker(POLICY, timeProvider);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            breaker.call(() -> Result.failure("unavailable"));
+        }
+
+        // then
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void should_open_when_slow_call_rate_reaches_threshold() {
+        // given
+        CircuitBreaker breaker = new CircuitBreaker(POLICY, timeProvider);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            breaker.call(() -> {
+                timeProvider.advance(Duration.ofSeconds(2));
+                return Result.success("slow");
+            });
+        }
+
+        // then
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void should_only_consider_calls_within_window() {
+        // given
+        CircuitBreaker breaker = new CircuitBreaker(POLICY, timeProvider);
+        recordSuccesses(breaker, 6);
+        for (int i = 0; i < 4; i++) {
+            breaker.call(() -> Result.failure("unavailable"));
+        }
+        State afterFourFailures = breaker.state();
+
+        // when
+        breaker.call(() -> Result.failure("unavailable"));
+
+        // then
+        assertThat(afterFourFailures).isEqualTo(State.CLOSED);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void should_close_after_successful_half_open_calls() {
+        // given
+        CircuitBreaker breaker = openedBreaker();
+
+        // when
+        timeProvider.advance(Duration.ofSeconds(30));
+        State afterCooldown = breaker.state();
+        recordSuccesses(breaker, 2);
+
+        // then
+        assertThat(afterCooldown).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void should_reopen_on_failed_half_open_call() {
+        // given
+        CircuitBreaker breaker = openedBreaker();
+        timeProvider.advance(Duration.ofSeconds(30));
+
+        // when
+        breaker.call(() -> Result.failure("still unavailable"));
+
+        // then
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void should_limit_concurrent_half_open_calls() {
+        // given
+        CircuitBreaker breaker = openedBreaker();
+        timeProvider.advance(Duration.ofSeconds(30));
+        AtomicReference<Result<String>> nested = new AtomicReference<>();
+
+        // when
+        breaker.call(() -> breaker.call(() -> {
+            nested.set(breaker.call(() -> Result.success("third")));
+            return Result.success("second");
+        }));
+
+        // then
+        assertThat(nested.get().errors()).containsExactly(CircuitBreaker.OPEN_ERROR);
+    }
+
+    @Test
+    void should_admit_only_half_open_calls_when_threads_race_after_cooldown() throws Exception {
+        // given
+        CircuitBreaker breaker = openedBreaker();
+        timeProvider.advance(Duration.ofSeconds(30));
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch rejected = new CountDownLatch(6);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Future<?>> calls = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            calls.add(threads.submit(() -> {
+                start.await();
+                Result<String> result = breaker.call(() -> {
+                    admitted.incrementAndGet();
+                    awaitQuietly(release);
+                    return Result.success("ok");
+                });
+                if (result.isFailure()) {
+                    rejected.countDown();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        boolean othersRejected = rejected.await(5, TimeUnit.SECONDS);
+        release.countDown();
+        for (Future<?> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+        threads.shutdown();
+
+        // then
+        assertThat(othersRejected).isTrue();
+        assertThat(admitted).hasValue(2);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void should_not_count_outcome_of_call_started_before_breaker_closed_again() {
+        // given
+        CircuitBreaker breaker = new CircuitBreaker(POLICY, timeProvider);
+
+        // when
+        breaker.call(() -> {
+            for (int i = 0; i < 4; i++) {
+                breaker.call(() -> Result.failure("unavailable"));
+            }
+            timeProvider.advance(Duration.ofSeconds(30));
+            recordSuccesses(breaker, 2);
+            for (int i = 0; i < 3; i++) {
+                breaker.call(() -> Result.failure("unavailable"));
+            }
+            return Result.failure("late");
+        });
+
+        // then
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void should_record_exceptions_as_failures() {
+        // given
+        CircuitBreaker breaker = new CircuitBreaker(POLICY, timeProvider);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> breaker.call(() -> {
+                throw new IllegalStateException("bug");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        // then
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    private CircuitBreaker openedBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(POLICY, timeProvider);
+        for (int i = 0; i < 4; i++) {
+            breaker.call(() -> Result.failure("unavailable"));
+        }
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        return breaker;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void recordSuccesses(CircuitBreaker breaker, int count) {
+        for (int i = 0; i < count; i++) {
+            breaker.call(() -> Result.success("ok"));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package info.psuj.toolbox.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingPolicyTest {
+
+    @Test
+    void should_reject_invalid_policy() {
+        // expect
+        assertThatThrownBy(() -> new HedgingPolicy(0, Duration.ZERO, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HedgingPolicy(1.1, Duration.ZERO, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HedgingPolicy(0.95, Duration.ofMillis(-1), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HedgingPolicy(0.95, Duration.ZERO, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
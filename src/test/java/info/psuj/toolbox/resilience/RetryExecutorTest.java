@@ -0,0 +1,234 @@
+package info.psuj.toolbox.resilience;
+
+import info.psuj.toolbox.shared.Result;
+import info.psuj.toolbox.time.FixedTimeProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryExecutorTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_retry_failures_with_exponential_backoff() {
+        // given
+        List<Duration> sleeps = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        RetryExecutor retry = new RetryExecutor(new RetryPolicy(4, Duration.ofMillis(100), Duration.ofMillis(250), 2, 0), sleeps::add);
+
+        // when
+        Result<String> result = retry.execute(() -> calls.incrementAndGet() < 4 ? Result.failure("unavailable") : Result.success("ok"));
+
+        // then
+        assertThat(result.entity()).contains("ok");
+        assertThat(calls).hasValue(4);
+        assertThat(sleeps).containsExactly(Duration.ofMillis(100), Duration.ofMillis(200), Duration.ofMillis(250));
+    }
+
+    @Test
+    void should_return_last_failure_when_attempts_are_exhausted() {
+        // given
+        List<Duration> sleeps = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        RetryExecutor retry = new RetryExecutor(RetryPolicy.exponential(3, Duration.ofMillis(10), Duration.ofSeconds(1)), sleeps::add);
+
+        // when
+        Result<String> result = retry.execute(() -> Result.failure("attempt " + calls.incrementAndGet()));
+
+        // then
+        assertThat(result.errors()).containsExactly("attempt 3");
+        assertThat(sleeps).hasSize(2);
+    }
+
+    @Test
+    void should_shorten_backoff_by_at_most_jitter_fraction() {
+        // given
+        List<Duration> sleeps = new ArrayList<>();
+        RetryExecutor retry = new RetryExecutor(new RetryPolicy(50, Duration.ofMillis(100), Duration.ofMillis(100), 1, 0.5), sleeps::add);
+
+        // when
+        retry.execute(() -> Result.failure("unavailable"));
+
+        // then
+        assertThat(sleeps).hasSize(49).allSatisfy(sleep ->
+                assertThat(sleep).isBetween(Duration.ofMillis(50), Duration.ofMillis(100))
+        );
+    }
+
+    @Test
+    void should_not_retry_success() {
+        // given
+        List<Duration> sleeps = new ArrayList<>();
+        RetryExecutor retry = new RetryExecutor(RetryPolicy.exponential(3, Duration.ofMillis(10), Duration.ofSeconds(1)), sleeps::add);
+
+        // when
+        Result<String> result = retry.execute(() -> Result.success("ok"));
+
+        // then
+        assertThat(result.entity()).contains("ok");
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    void should_propagate_exceptions_without_retrying() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        RetryExecutor retry = new RetryExecutor(RetryPolicy.exponential(3, Duration.ofMillis(10), Duration.ofSeconds(1)), duration -> {});
+
+        // expect
+        assertThatThrownBy(() -> retry.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("bug");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void should_return_failure_when_interrupted_while_waiting() {
+        // given
+        RetryExecutor retry = new RetryExecutor(RetryPolicy.exponential(3, Duration.ofMillis(10), Duration.ofSeconds(1)), duration -> {
+            throw new InterruptedException();
+        });
+
+        // when
+        Result<String> result = retry.execute(() -> Result.failure("unavailable"));
+
+        // then
+        assertThat(result.isFailure()).isTrue();
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void should_hedge_slow_call_and_cancel_loser() throws InterruptedException {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch never = new CountDownLatch(1);
+        CountDownLatch slowCallInterrupted = new CountDownLatch(1);
+        List<Duration> waits = new ArrayList<>();
+        RetryExecutor retry = new RetryExecutor(
+                new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1, 0),
+                new HedgingPolicy(0.95, Duration.ofMillis(50), 10),
+                executor, new FixedTimeProvider(NOW), waits::add);
+
+        // when
+        Result<String> result = retry.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    never.await();
+                } catch (InterruptedException e) {
+                    slowCallInterrupted.countDown();
+                }
+                return Result.success("slow");
+            }
+            return Result.success("fast");
+        });
+
+        // then
+        assertThat(result.entity()).contains("fast");
+        assertThat(calls).hasValue(2);
+        assertThat(waits).containsExactly(Duration.ofMillis(50));
+        assertThat(slowCallInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_not_hedge_fast_call() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        RetryExecutor retry = new RetryExecutor(
+                new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1, 0),
+                new HedgingPolicy(0.95, Duration.ofSeconds(5), 10),
+                executor, new FixedTimeProvider(NOW), completingBeforeTimeout());
+
+        // when
+        Result<String> result = retry.execute(() -> Result.success("call " + calls.incrementAndGet()));
+
+        // then
+        assertThat(result.entity()).contains("call 1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void should_take_hedged_success_when_first_call_fails() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch hedged = new CountDownLatch(1);
+        RetryExecutor retry = new RetryExecutor(
+                new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1, 0),
+                new HedgingPolicy(0.95, Duration.ofMillis(20), 10),
+                executor, new FixedTimeProvider(NOW), duration -> {});
+
+        // when
+        Result<String> result = retry.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    hedged.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Result.failure("slow failure");
+            }
+            hedged.countDown();
+            return Result.success("hedged");
+        });
+
+        // then
+        assertThat(result.entity()).contains("hedged");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void should_reject_hedging_without_executor_or_time_provider() {
+        // given
+        RetryPolicy retryPolicy = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1, 0);
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(0.95, Duration.ofMillis(20), 10);
+
+        // expect
+        assertThatThrownBy(() -> new RetryExecutor(retryPolicy, hedgingPolicy, null, new FixedTimeProvider(NOW), duration -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RetryExecutor(retryPolicy, hedgingPolicy, executor, null, duration -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Sleeper whose clock never reaches a timeout before the awaited call completes.
+     */
+    private static Sleeper completingBeforeTimeout() {
+        return new Sleeper() {
+            @Override
+            public void sleep(Duration duration) {
+            }
+
+            @Override
+            public boolean await(Future<?> task, Duration timeout) throws InterruptedException {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    // completed exceptionally
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package info.psuj.toolbox.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryPolicyTest {
+
+    @Test
+    void should_create_exponential_policy_with_jitter() {
+        // when
+        RetryPolicy policy = RetryPolicy.exponential(5, Duration.ofMillis(100), Duration.ofSeconds(2));
+
+        // then
+        assertThat(policy.multiplier()).isEqualTo(2.0);
+        assertThat(policy.jitter()).isEqualTo(0.5);
+        assertThat(policy.backoff(1, 0)).isEqualTo(Duration.ofMillis(100));
+        assertThat(policy.backoff(3, 0)).isEqualTo(Duration.ofMillis(400));
+        assertThat(policy.backoff(10, 0)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(policy.backoff(1, 1)).isEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void should_reject_invalid_policy() {
+        // expect
+        assertThatThrownBy(() -> RetryPolicy.exponential(0, Duration.ZERO, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RetryPolicy.exponential(3, Duration.ofSeconds(2), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RetryPolicy(3, Duration.ZERO, Duration.ZERO, 0.5, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RetryPolicy(3, Duration.ZERO, Duration.ZERO, 2, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package info.psuj.toolbox.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ErrorAggregationTest {
+
+    @Test
+    void should_keep_each_distinct_error_once() {
+        // given
+        ErrorAggregation.Aggregator aggregator = ErrorAggregation.distinct().aggregator();
+
+        // when
+        aggregator.add(0, Set.of("Missing name"));
+        aggregator.add(1, Set.of("Invalid format"));
+        aggregator.add(2, Set.of("Missing name"));
+
+        // then
+        assertThat(aggregator.toSet()).containsExactly("Missing name", "Invalid format");
+    }
+
+    @Test
+    void should_count_occurrences_and_record_first_positions() {
+        // given
+        ErrorAggregation.Aggregator aggregator = ErrorAggregation.summarized(10, 2).aggregator();
+
+        // when
+        aggregator.add(3, Set.of("Missing name"));
+        aggregator.add(7, Set.of("Missing name"));
+        aggregator.add(9, Set.of("Missing name"));
+        aggregator.add(12, Set.of("Invalid format"));
+
+        // then
+        assertThat(aggregator.toSet()).containsExactly(
+                "Missing name (3 occurrences, first at 3, 7)",
+                "Invalid format (1 occurrence, first at 12)"
+        );
+    }
+
+    @Test
+    void should_count_errors_beyond_limit_as_omitted() {
+        // given
+        ErrorAggregation.Aggregator aggregator = ErrorAggregation.summarized(1, 0).aggregator();
+
+        // when
+        aggregator.add(0, List.of("Missing name", "Invalid format"));
+        aggregator.add(1, List.of("Missing name", "Invalid price"));
+
+        // then
+        assertThat(aggregator.toSet()).containsExactly(
+                "Missing name (2 occurrences)",
+                "2 more errors omitted"
+        );
+    }
+
+    @Test
+    void should_be_empty_without_errors() {
+        // given
+        ErrorAggregation.Aggregator aggregator = ErrorAggregation.summarized(1, 1).aggregator();
+
+        // expect
+        assertThat(aggregator.isEmpty()).isTrue();
+        assertThat(aggregator.toSet()).isEmpty();
+    }
+
+    @Test
+    void should_reject_invalid_limits() {
+        // expect
+        assertThatThrownBy(() -> ErrorAggregation.summarized(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ErrorAggregation.summarized(1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package info.psuj.toolbox.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCoalescerTest {
+
+    record PriceChanged(String productId, int price) implements DomainEvent {}
+
+    record StockCounted(String warehouseId, int count) implements DomainEvent {
+        StockCounted plus(StockCounted other) {
+            return new StockCounted(warehouseId, count + other.count);
+        }
+    }
+
+    record OrderPlaced(String orderId) implements DomainEvent {}
+
+    @Test
+    void should_keep_last_event_per_key_at_position_of_first() {
+        // given
+        EventCoalescer coalescer = EventCoalescer.keepLast(PriceChanged.class, PriceChanged::productId);
+
+        // when
+        var events = coalescer.coalesce(List.of(
+                new PriceChanged("A", 1),
+                new PriceChanged("B", 2),
+                new PriceChanged("A", 3)
+        ));
+
+        // then
+        assertThat(events).containsExactly(new PriceChanged("A", 3), new PriceChanged("B", 2));
+    }
+
+    @Test
+    void should_merge_events_per_key() {
+        // given
+        EventCoalescer coalescer = EventCoalescer.merge(StockCounted.class, StockCounted::warehouseId, StockCounted::plus);
+
+        // when
+        var events = coalescer.coalesce(List.of(
+                new StockCounted("W1", 1),
+                new StockCounted("W2", 5),
+                new StockCounted("W1", 2)
+        ));
+
+        // then
+        assertThat(events).containsExactly(new StockCounted("W1", 3), new StockCounted("W2", 5));
+    }
+
+    @Test
+    void should_apply_all_rules_and_keep_other_events_without_duplicates() {
+        // given
+        EventCoalescer coalescer = EventCoalescer.keepLast(PriceChanged.class, PriceChanged::productId)
+                .and(EventCoalescer.merge(StockCounted.class, StockCounted::warehouseId, StockCounted::plus));
+
+        // when
+        var events = coalescer.coalesce(List.of(
+                new OrderPlaced("1"),
+                new PriceChanged("A", 1),
+                new StockCounted("W1", 1),
+                new OrderPlaced("1"),
+                new PriceChanged("A", 2),
+                new StockCounted("W1", 1)
+        ));
+
+        // then
+        assertThat(events).containsExactly(
+                new OrderPlaced("1"),
+                new PriceChanged("A", 2),
+                new StockCounted("W1", 2)
+        );
+    }
+
+    @Test
+    void should_only_remove_duplicates_without_rules() {
+        // when
+        var events = EventCoalescer.none().coalesce(List.of(
+                new PriceChanged("A", 1),
+                new PriceChanged("A", 2),
+                new PriceChanged("A", 1)
+        ));
+
+        // then
+        assertThat(events).containsExactly(new PriceChanged("A", 1), new PriceChanged("A", 2));
+    }
+}
@@ -191,4 +191,30 @@ class ResultTest {
         assertThat(mapped.events()).isEmpty();
         assertThat(mapped.errors()).containsExactly("validation failed");
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_coalesce_events_of_successful_result() {
+        // given
+        Result<String> result = Result.success("ok", new TestEvent("a"), new TestEvent("b"));
+        EventCoalescer coalescer = EventCoalescer.keepLast(TestEvent.class, event -> "all");
+
+        // when
+        Result<String> coalesced = result.coalesceEvents(coalescer);
+
+        // then
+        assertThat(coalesced.entity()).contains("ok");
+        assertThat(coalesced.events()).containsExactly(new TestEvent("b"));
+    }
+
+    @Test
+    void should_return_same_failure_when_coalescing_failed_result() {
+        // given
+        Result<String> failed = Result.failure("validation failed");
+
+        // when
+        Result<String> coalesced = failed.coalesceEvents(EventCoalescer.none());
+
+        // then
+        assertThat(coalesced).isEqualTo(failed);
+    }
+}
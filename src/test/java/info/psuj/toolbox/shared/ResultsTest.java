@@ -1,11 +1,26 @@
 package info.psuj.toolbox.shared;
 
+import info.psuj.toolbox.time.AdjustableTimeProvider;
+import info.psuj.toolbox.time.FixedTimeProvider;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ResultsTest {
 
@@ -112,6 +127,225 @@ class ResultsTest {
         assertThat(combined.events()).isEmpty();
     }
 
+    @Test
+    void should_coalesce_events_when_combining() {
+        // given
+        Result<String> r1 = Result.success("One", new TestEvent("1"), new KeyedEvent("A", 1));
+        Result<String> r2 = Result.success("Two", new KeyedEvent("B", 2), new KeyedEvent("A", 3));
+        EventCoalescer coalescer = EventCoalescer.keepLast(KeyedEvent.class, KeyedEvent::key);
+
+        // when
+        Result<List<String>> combined = Results.combine(List.of(r1, r2), coalescer);
+
+        // then
+        assertThat(combined.isSuccess()).isTrue();
+        assertThat(combined.entity()).hasValueSatisfying(entity ->
+                assertThat(entity).containsExactly("One", "Two")
+        );
+        assertThat(combined.events()).containsExactly(
+                new TestEvent("1"),
+                new KeyedEvent("A", 3),
+                new KeyedEvent("B", 2)
+        );
+    }
+
+    @Test
+    void should_summarize_errors_when_combining() {
+        // given
+        List<Result<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            results.add(i % 2 == 0 ? Result.success(i) : Result.failure("Price must be positive"));
+        }
+        results.add(Result.failure("Missing name"));
+
+        // when
+        Result<List<Integer>> combined = Results.combine(results, ErrorAggregation.summarized(1, 3));
+
+        // then
+        assertThat(combined.isFailure()).isTrue();
+        assertThat(combined.errors()).containsExactly(
+                "Price must be positive (5000 occurrences, first at 1, 3, 5)",
+                "1 more error omitted"
+        );
+    }
+
+    @Test
+    void should_reuse_memoized_success_until_ttl_expires() {
+        // given
+        AdjustableTimeProvider timeProvider = new AdjustableTimeProvider(Instant.parse("2025-01-01T12:00:00Z"));
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, Result<Integer>> memoized = Results.memoize(key -> {
+            calls.incrementAndGet();
+            return Result.success(key.length());
+        }, 10, Duration.ofMinutes(1), timeProvider);
+
+        // when
+        memoized.apply("key");
+        memoized.apply("key");
+        timeProvider.advance(Duration.ofMinutes(1));
+        Result<Integer> afterExpiry = memoized.apply("key");
+
+        // then
+        assertThat(afterExpiry.entity()).contains(3);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void should_cache_failures_for_failure_ttl() {
+        // given
+        AdjustableTimeProvider timeProvider = new AdjustableTimeProvider(Instant.parse("2025-01-01T12:00:00Z"));
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, Result<Integer>> memoized = Results.memoize(key -> {
+            calls.incrementAndGet();
+            return Result.failure("not found");
+        }, 10, Duration.ofMinutes(10), Duration.ofSeconds(5), timeProvider);
+
+        // when
+        memoized.apply("key");
+        timeProvider.advance(Duration.ofSeconds(4));
+        memoized.apply("key");
+        int callsWithinFailureTtl = calls.get();
+        timeProvider.advance(Duration.ofSeconds(1));
+        memoized.apply("key");
+
+        // then
+        assertThat(callsWithinFailureTtl).isEqualTo(1);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void should_not_cache_failures_by_default() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, Result<Integer>> memoized = Results.memoize(key -> {
+            calls.incrementAndGet();
+            return Result.failure("not found");
+        }, 10, Duration.ofMinutes(1), new FixedTimeProvider(Instant.parse("2025-01-01T12:00:00Z")));
+
+        // when
+        memoized.apply("key");
+        memoized.apply("key");
+
+        // then
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void should_evict_key_not_read_recently_when_full() {
+        // given
+        List<String> calls = new ArrayList<>();
+        Function<String, Result<String>> memoized = Results.memoize(key -> {
+            calls.add(key);
+            return Result.success(key);
+        }, 2, Duration.ofMinutes(1), new FixedTimeProvider(Instant.parse("2025-01-01T12:00:00Z")));
+
+        // when
+        memoized.apply("a");
+        memoized.apply("b");
+        memoized.apply("a");
+        memoized.apply("c");
+        memoized.apply("a");
+        memoized.apply("b");
+
+        // then
+        assertThat(calls).containsExactly("a", "b", "c", "b");
+    }
+
+    @Test
+    void should_share_single_computation_between_concurrent_misses() throws Exception {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, Result<Integer>> memoized = Results.memoize(key -> {
+            calls.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Result.success(key.length());
+        }, 10, Duration.ofMinutes(1), new FixedTimeProvider(Instant.parse("2025-01-01T12:00:00Z")));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Result<Integer>>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> memoized.apply("key")));
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+
+        // then
+        for (Future<Result<Integer>> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS).entity()).contains(3);
+        }
+        assertThat(calls).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    void should_release_waiters_when_function_throws_checked_exception() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, Result<Integer>> memoized = Results.memoize(key -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw ResultsTest.<RuntimeException>sneakyThrow(new IOException("disk unavailable"));
+        }, 10, Duration.ofMinutes(1), new FixedTimeProvider(Instant.parse("2025-01-01T12:00:00Z")));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<Result<Integer>> computing = executor.submit(() -> memoized.apply("key"));
+        started.await();
+        Future<Result<Integer>> waiting = executor.submit(() -> memoized.apply("key"));
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+
+        // then
+        assertThatThrownBy(() -> computing.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(IOException.class);
+        executor.shutdown();
+    }
+
+    @Test
+    void should_reject_recursive_call_for_key_being_computed() {
+        // given
+        AtomicReference<Function<String, Result<String>>> memoized = new AtomicReference<>();
+        memoized.set(Results.memoize(key -> memoized.get().apply(key), 10, Duration.ofMinutes(1),
+                new FixedTimeProvider(Instant.parse("2025-01-01T12:00:00Z"))));
+
+        // expect
+        assertThatThrownBy(() -> memoized.get().apply("key")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_propagate_exception_without_caching() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, Result<Integer>> memoized = Results.memoize(key -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("downstream unavailable");
+        }, 10, Duration.ofMinutes(1), Duration.ofMinutes(1), new FixedTimeProvider(Instant.parse("2025-01-01T12:00:00Z")));
+
+        // expect
+        assertThatThrownBy(() -> memoized.apply("key")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> memoized.apply("key")).isInstanceOf(IllegalStateException.class);
+        assertThat(calls).hasValue(2);
+    }
+
     public record TestEvent(String event) implements DomainEvent {
     }
-}
\ No newline at end of file
+
+    public record KeyedEvent(String key, int value) implements DomainEvent {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneakyThrow(Throwable e) throws E {
+        throw (E) e;
+    }
+}
@@ -0,0 +1,43 @@
+package info.psuj.toolbox.time;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Test clock shared by tests of time-dependent components: like {@link FixedTimeProvider}, but
+ * the instant can be set or advanced between calls.
+ */
+public class AdjustableTimeProvider implements TimeProvider {
+    private volatile Clock clock;
+
+    /**
+     * Creates an AdjustableTimeProvider starting at a specific instant.
+     * @param instant the initial point in time
+     */
+    public AdjustableTimeProvider(Instant instant) {
+        this.clock = Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    /**
+     * Moves the time to the given instant, which may also be in the past.
+     * @param instant the new point in time
+     */
+    public synchronized void set(Instant instant) {
+        this.clock = Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    /**
+     * Moves the time by the given amount.
+     * @param duration the amount to move by; negative to move back
+     */
+    public synchronized void advance(Duration duration) {
+        set(clock.instant().plus(duration));
+    }
+
+    @Override
+    public Clock clock() {
+        return clock;
+    }
+}